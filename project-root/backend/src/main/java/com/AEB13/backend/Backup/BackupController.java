@@ -0,0 +1,38 @@
+package com.AEB13.backend.Backup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for exporting the application's data.
+ */
+@RestController
+@RequestMapping("/api/backup")
+public class BackupController {
+
+    /**
+     * Service writing the export.
+     */
+    @Autowired
+    private BackupService backupService;
+
+    /**
+     * Streams all meals and weekly plans as NDJSON. The export can be restored
+     * by starting the application with {@code --backup.restore-file=<file>}.
+     *
+     * @return the export as a download
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"backup.ndjson\"")
+                .body(backupService::export);
+    }
+}
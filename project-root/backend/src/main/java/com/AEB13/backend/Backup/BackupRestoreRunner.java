@@ -0,0 +1,44 @@
+package com.AEB13.backend.Backup;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores an export at startup when {@code backup.restore-file} is set, e.g.
+ * {@code java -jar backend.jar --backup.restore-file=backup.ndjson}. The
+ * restore runs before the application reports ready, so the meal search index
+ * is built from the restored meals.
+ */
+@Component
+@ConditionalOnProperty(name = "backup.restore-file")
+public class BackupRestoreRunner implements ApplicationRunner {
+
+    /**
+     * Service performing the restore.
+     */
+    @Autowired
+    private BackupService backupService;
+
+    /**
+     * The export file to restore.
+     */
+    @Value("${backup.restore-file}")
+    private Path restoreFile;
+
+    /**
+     * Restores the configured file. Startup fails if the restore fails.
+     *
+     * @param args the application arguments
+     * @throws Exception if the file cannot be restored
+     */
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        backupService.restore(restoreFile);
+    }
+}
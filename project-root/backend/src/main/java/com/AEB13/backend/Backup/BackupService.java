@@ -0,0 +1,482 @@
+package com.AEB13.backend.Backup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.AEB13.backend.WeeklyPlan.WeeklyPlan;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Service that exports meals and weekly plans as NDJSON and restores them.
+ * <p>
+ * An export starts with a header line, followed by one line per meal and one
+ * line per weekly plan, each of the form {@code {"type": ..., "data": {...}}}.
+ * Rows are read through a streaming JDBC cursor and written as they arrive,
+ * so memory use does not grow with the size of the database. A restore reads
+ * such a file line by line and inserts the rows with JDBC batches, keeping
+ * their ids so that weekly plans still refer to the right meals.
+ * </p>
+ */
+@Service
+public class BackupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupService.class);
+
+    /**
+     * The version of the export format written into the header line.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * Shared mapper creating the JSON generators and reading restore lines.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The columns of the meals table, in export and insert order.
+     */
+    private static final String MEAL_COLUMNS = "id, name, ingredients, instructions, thumbnail, category, "
+            + "you_tube_vid, api_id, saved_count, cooked_count, favorite, is_custom";
+
+    /**
+     * Selects every plan together with its days, one row per plan and day,
+     * ordered so that the rows of a plan are adjacent and its days in weekly
+     * order.
+     */
+    private static final String PLAN_ROWS = "SELECT p.id, p.week, d.day_of_week, d.meal_id, d.portion_size "
+            + "FROM weekly_plans p LEFT JOIN weekly_plan_days d ON d.weekly_plan_id = p.id "
+            + "ORDER BY p.id, d.day_of_week";
+
+    /**
+     * Template for streaming reads, with the configured fetch size.
+     */
+    private final JdbcTemplate cursorTemplate;
+
+    /**
+     * Template for the restore's batch inserts.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs a restore in a single transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of rows inserted per JDBC batch during a restore.
+     */
+    private final int batchSize;
+
+    /**
+     * Creates the service.
+     *
+     * @param dataSource          the application's data source
+     * @param transactionTemplate template for the restore transaction
+     * @param fetchSize           the number of rows fetched per round trip when
+     *                            exporting
+     * @param batchSize           the number of rows per batch when restoring
+     */
+    public BackupService(DataSource dataSource, TransactionTemplate transactionTemplate,
+            @Value("${backup.export.fetch-size:500}") int fetchSize,
+            @Value("${backup.restore.batch-size:500}") int batchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes all meals and weekly plans to the given stream as NDJSON.
+     *
+     * @param out the stream to write to; it is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    public void export(OutputStream out) throws IOException {
+        try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            generator.writeStartObject();
+            generator.writeStringField("type", "header");
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeStringField("exportedAt", Instant.now().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+
+            cursorTemplate.query("SELECT " + MEAL_COLUMNS + " FROM meals ORDER BY id",
+                    (RowCallbackHandler) rs -> writeLine(generator, () -> writeMeal(generator, rs)));
+            exportPlans(generator);
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Restores meals and weekly plans from an NDJSON export. The tables must be
+     * empty; everything is inserted in one transaction.
+     *
+     * @param file the export file
+     * @return the number of meals and weekly plans restored
+     * @throws IOException if the file cannot be read or is not a valid export
+     * @throws IllegalStateException if the database already holds meals or
+     *                               weekly plans
+     */
+    public Map<String, Integer> restore(Path file) throws IOException {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM meals) + (SELECT COUNT(*) FROM weekly_plans)", Integer.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Restoring requires empty meals and weekly_plans tables.");
+        }
+
+        Map<String, Integer> counts;
+        try {
+            counts = transactionTemplate.execute(status -> {
+                try {
+                    return insertRows(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM meals", Long.class);
+        if (maxId != null) {
+            // Move the sequence past the restored ids, beyond the block Hibernate may have cached
+            jdbcTemplate.execute("ALTER SEQUENCE meals_seq RESTART WITH " + (maxId + 51));
+        }
+        logger.info("Restored {} meals and {} weekly plans from {}", counts.get("meals"),
+                counts.get("weeklyPlans"), file);
+        return counts;
+    }
+
+    /**
+     * Reads the export file and inserts its rows in batches.
+     *
+     * @param file the export file
+     * @return the number of meals and weekly plans inserted
+     */
+    private Map<String, Integer> insertRows(Path file) throws IOException {
+        List<Object[]> meals = new ArrayList<>();
+        List<Object[]> plans = new ArrayList<>();
+        List<Object[]> planDays = new ArrayList<>();
+        int mealCount = 0;
+        int planCount = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode entry = OBJECT_MAPPER.readTree(line);
+                String type = entry.path("type").asText();
+                JsonNode data = entry.path("data");
+                switch (type) {
+                    case "header" -> {
+                        if (entry.path("version").asInt() != FORMAT_VERSION) {
+                            throw new IOException("Unsupported export version " + entry.path("version"));
+                        }
+                    }
+                    case "meal" -> {
+                        meals.add(mealRow(data));
+                        mealCount++;
+                    }
+                    case "weeklyPlan" -> {
+                        long id = data.path("id").asLong();
+                        plans.add(new Object[] { id, data.path("week").asInt() });
+                        addDayRows(id, data, planDays, lineNumber);
+                        planCount++;
+                    }
+                    default -> throw new IOException("Unknown entry type '" + type + "' on line " + lineNumber);
+                }
+                if (meals.size() + plans.size() + planDays.size() >= batchSize) {
+                    flush(meals, plans, planDays);
+                }
+            }
+        }
+        flush(meals, plans, planDays);
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("meals", mealCount);
+        counts.put("weeklyPlans", planCount);
+        return counts;
+    }
+
+    /**
+     * Converts the "meals" and "portionSizes" of an exported plan into rows of
+     * the plan's day table. Days without a meal are skipped, missing portion
+     * sizes default to 1.
+     *
+     * @param planId     the plan's id
+     * @param data       the exported plan
+     * @param planDays   the rows to add to
+     * @param lineNumber the plan's line, for error messages
+     * @throws IOException if a day name is not an English day name
+     */
+    private static void addDayRows(long planId, JsonNode data, List<Object[]> planDays, int lineNumber)
+            throws IOException {
+        JsonNode portionSizes = data.path("portionSizes");
+        Iterator<Map.Entry<String, JsonNode>> days = data.path("meals").fields();
+        while (days.hasNext()) {
+            Map.Entry<String, JsonNode> day = days.next();
+            Long mealId = longOrNull(day.getValue());
+            if (mealId == null) {
+                continue;
+            }
+            DayOfWeek dayOfWeek;
+            try {
+                dayOfWeek = WeeklyPlan.parseDay(day.getKey());
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage() + " on line " + lineNumber);
+            }
+            Integer portionSize = intOrNull(portionSizes.path(day.getKey()));
+            planDays.add(new Object[] { planId, dayOfWeek.ordinal(), mealId,
+                    portionSize != null && portionSize > 0 ? portionSize : 1 });
+        }
+    }
+
+    /**
+     * Inserts the buffered rows, plans before their days, and clears the
+     * buffers.
+     */
+    private void flush(List<Object[]> meals, List<Object[]> plans, List<Object[]> planDays) {
+        batchInsert("INSERT INTO meals (" + MEAL_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", meals);
+        batchInsert("INSERT INTO weekly_plans (id, week) VALUES (?, ?)", plans);
+        batchInsert("INSERT INTO weekly_plan_days (weekly_plan_id, day_of_week, meal_id, portion_size) "
+                + "VALUES (?, ?, ?, ?)", planDays);
+    }
+
+    /**
+     * Inserts the rows as one JDBC batch and clears them.
+     *
+     * @param sql  the insert statement
+     * @param rows the parameter values of each row
+     */
+    private void batchInsert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    /**
+     * Streams the weekly plans, writing one line per plan once all of its rows
+     * have been read.
+     *
+     * @param generator the generator to write to
+     */
+    private void exportPlans(JsonGenerator generator) {
+        PlanBuilder current = new PlanBuilder();
+        cursorTemplate.query(PLAN_ROWS, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            if (current.id != null && current.id != id) {
+                writeLine(generator, () -> current.write(generator));
+                current.reset();
+            }
+            current.add(rs);
+        });
+        if (current.id != null) {
+            writeLine(generator, () -> current.write(generator));
+        }
+    }
+
+    /**
+     * Writes the fields of the meal at the cursor's current row.
+     */
+    private static void writeMeal(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStringField("type", "meal");
+        generator.writeObjectFieldStart("data");
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("name", rs.getString("name"));
+        generator.writeStringField("ingredients", rs.getString("ingredients"));
+        generator.writeStringField("instructions", rs.getString("instructions"));
+        generator.writeStringField("thumbnail", rs.getString("thumbnail"));
+        generator.writeStringField("category", rs.getString("category"));
+        generator.writeStringField("youTubeVid", rs.getString("you_tube_vid"));
+        generator.writeStringField("apiId", rs.getString("api_id"));
+        generator.writeNumberField("savedCount", rs.getInt("saved_count"));
+        generator.writeNumberField("cookedCount", rs.getInt("cooked_count"));
+        generator.writeBooleanField("favorite", rs.getBoolean("favorite"));
+        generator.writeBooleanField("custom", rs.getBoolean("is_custom"));
+        generator.writeEndObject();
+    }
+
+    /**
+     * Converts an exported meal into the parameters of the meals insert.
+     */
+    private static Object[] mealRow(JsonNode data) {
+        return new Object[] {
+                data.path("id").asLong(),
+                data.path("name").asText(),
+                textOrNull(data.path("ingredients")),
+                textOrNull(data.path("instructions")),
+                textOrNull(data.path("thumbnail")),
+                textOrNull(data.path("category")),
+                textOrNull(data.path("youTubeVid")),
+                textOrNull(data.path("apiId")),
+                data.path("savedCount").asInt(),
+                data.path("cookedCount").asInt(),
+                data.path("favorite").asBoolean(),
+                data.path("custom").asBoolean()
+        };
+    }
+
+    /**
+     * Writes one export line: an object filled in by the given writer, followed
+     * by a newline.
+     */
+    private static void writeLine(JsonGenerator generator, LineWriter writer) {
+        try {
+            generator.writeStartObject();
+            writer.write();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error reading a row to export", e);
+        }
+    }
+
+    /**
+     * Returns the text of a node, or null if it is null or missing.
+     */
+    private static String textOrNull(JsonNode node) {
+        return node.isNull() || node.isMissingNode() ? null : node.asText();
+    }
+
+    /**
+     * Returns the long value of a node, or null if it is null or missing.
+     */
+    private static Long longOrNull(JsonNode node) {
+        return node.isNull() || node.isMissingNode() ? null : node.asLong();
+    }
+
+    /**
+     * Returns the int value of a node, or null if it is null or missing.
+     */
+    private static Integer intOrNull(JsonNode node) {
+        return node.isNull() || node.isMissingNode() ? null : node.asInt();
+    }
+
+    /**
+     * Writes the fields of one export line.
+     */
+    @FunctionalInterface
+    private interface LineWriter {
+        void write() throws IOException, SQLException;
+    }
+
+    /**
+     * Collects the rows of the weekly plan currently being exported.
+     */
+    private static final class PlanBuilder {
+
+        /**
+         * The plan's id, or null before its first row.
+         */
+        private Long id;
+
+        /**
+         * The plan's week.
+         */
+        private int week;
+
+        /**
+         * Meal ids by day.
+         */
+        private final Map<String, Long> meals = new LinkedHashMap<>();
+
+        /**
+         * Portion sizes by day.
+         */
+        private final Map<String, Integer> portionSizes = new LinkedHashMap<>();
+
+        /**
+         * Adds a row of {@link BackupService#PLAN_ROWS} to the plan.
+         */
+        void add(ResultSet rs) throws SQLException {
+            id = rs.getLong("id");
+            week = rs.getInt("week");
+            int dayOfWeek = rs.getInt("day_of_week");
+            if (rs.wasNull()) {
+                // A plan without meals
+                return;
+            }
+            String day = WeeklyPlan.dayName(DayOfWeek.values()[dayOfWeek]);
+            meals.put(day, rs.getLong("meal_id"));
+            portionSizes.put(day, rs.getInt("portion_size"));
+        }
+
+        /**
+         * Writes the fields of the plan's export line.
+         */
+        void write(JsonGenerator generator) throws IOException {
+            generator.writeStringField("type", "weeklyPlan");
+            generator.writeObjectFieldStart("data");
+            generator.writeNumberField("id", id);
+            generator.writeNumberField("week", week);
+            writeMap(generator, "meals", meals.entrySet().iterator());
+            writeMap(generator, "portionSizes", portionSizes.entrySet().iterator());
+            generator.writeEndObject();
+        }
+
+        /**
+         * Clears the plan to collect the next one.
+         */
+        void reset() {
+            id = null;
+            meals.clear();
+            portionSizes.clear();
+        }
+
+        /**
+         * Writes a map of days to numbers as a JSON object field.
+         */
+        private static void writeMap(JsonGenerator generator, String field,
+                Iterator<? extends Map.Entry<String, ? extends Number>> entries) throws IOException {
+            generator.writeObjectFieldStart(field);
+            while (entries.hasNext()) {
+                Map.Entry<String, ? extends Number> entry = entries.next();
+                if (entry.getValue() == null) {
+                    generator.writeNullField(entry.getKey());
+                } else {
+                    generator.writeNumberField(entry.getKey(), entry.getValue().longValue());
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.AEB13.backend.Catalog;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A meal area (cuisine) mirrored from TheMealDB (e.g. "Italian").
+ */
+@Entity
+@Table(name = "catalog_areas")
+public class CatalogArea {
+
+    /**
+     * The area name as returned by TheMealDB.
+     */
+    @Id
+    private String name;
+
+    protected CatalogArea() {
+    }
+
+    public CatalogArea(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,20 @@
+package com.AEB13.backend.Catalog;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the mirrored {@link CatalogArea} entities.
+ */
+@Repository
+public interface CatalogAreaRepository extends CrudRepository<CatalogArea, String> {
+
+    /**
+     * Retrieves all mirrored areas ordered by name.
+     *
+     * @return a list of all areas
+     */
+    List<CatalogArea> findAllByOrderByNameAsc();
+}
@@ -0,0 +1,30 @@
+package com.AEB13.backend.Catalog;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A meal category mirrored from TheMealDB (e.g. "Seafood").
+ */
+@Entity
+@Table(name = "catalog_categories")
+public class CatalogCategory {
+
+    /**
+     * The category name as returned by TheMealDB.
+     */
+    @Id
+    private String name;
+
+    protected CatalogCategory() {
+    }
+
+    public CatalogCategory(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
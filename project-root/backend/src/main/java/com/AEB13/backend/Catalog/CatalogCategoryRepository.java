@@ -0,0 +1,20 @@
+package com.AEB13.backend.Catalog;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the mirrored {@link CatalogCategory} entities.
+ */
+@Repository
+public interface CatalogCategoryRepository extends CrudRepository<CatalogCategory, String> {
+
+    /**
+     * Retrieves all mirrored categories ordered by name.
+     *
+     * @return a list of all categories
+     */
+    List<CatalogCategory> findAllByOrderByNameAsc();
+}
@@ -0,0 +1,49 @@
+package com.AEB13.backend.Catalog;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for inspecting and refreshing the local TheMealDB catalog
+ * mirror.
+ */
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    /**
+     * Service managing the catalog mirror.
+     */
+    @Autowired
+    private CatalogMirrorService catalogMirrorService;
+
+    /**
+     * Retrieves the state of the catalog mirror.
+     *
+     * @return the mirror's status and row counts
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(catalogMirrorService.getStatus());
+    }
+
+    /**
+     * Refreshes the catalog mirror from TheMealDB immediately.
+     *
+     * @return the mirror's status after the refresh, or 409 if a refresh was
+     *         already running or failed
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refresh() {
+        if (!catalogMirrorService.refresh()) {
+            return ResponseEntity.status(409).body(catalogMirrorService.getStatus());
+        }
+        return ResponseEntity.ok(catalogMirrorService.getStatus());
+    }
+}
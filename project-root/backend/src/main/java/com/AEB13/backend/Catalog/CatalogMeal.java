@@ -0,0 +1,165 @@
+package com.AEB13.backend.Catalog;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A meal mirrored from TheMealDB.
+ * <p>
+ * The summary fields (name, thumbnail, category, area) are filled from the
+ * {@code filter.php} listings. The detail fields are filled from
+ * {@code lookup.php} once per meal, which is tracked by {@link #detailsLoaded}.
+ * </p>
+ */
+@Entity
+@Table(name = "catalog_meals", indexes = {
+        @Index(name = "idx_catalog_meals_category", columnList = "category"),
+        @Index(name = "idx_catalog_meals_area", columnList = "area"),
+        @Index(name = "idx_catalog_meals_name", columnList = "name")
+})
+public class CatalogMeal {
+
+    /**
+     * TheMealDB's {@code idMeal}.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * The name of the meal.
+     */
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * The URL of the thumbnail image for this meal.
+     */
+    private String thumbnail;
+
+    /**
+     * The category this meal is listed under.
+     */
+    private String category;
+
+    /**
+     * The area (cuisine) this meal is listed under.
+     */
+    private String area;
+
+    /**
+     * The ingredients in the same "ingredient - measure, ..." format used for
+     * saved meals.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String ingredients;
+
+    /**
+     * The cooking instructions.
+     */
+    @Column(columnDefinition = "LONGTEXT")
+    private String instructions;
+
+    /**
+     * A YouTube video URL demonstrating how to cook this meal.
+     */
+    private String youTubeVid;
+
+    /**
+     * Whether the detail fields have been loaded from {@code lookup.php}.
+     */
+    @Column(nullable = false)
+    private boolean detailsLoaded = false;
+
+    /**
+     * When this meal was last seen in an upstream listing.
+     */
+    private Instant lastSyncedAt;
+
+    protected CatalogMeal() {
+    }
+
+    public CatalogMeal(Long id) {
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getThumbnail() {
+        return thumbnail;
+    }
+
+    public void setThumbnail(String thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public String getIngredients() {
+        return ingredients;
+    }
+
+    public void setIngredients(String ingredients) {
+        this.ingredients = ingredients;
+    }
+
+    public String getInstructions() {
+        return instructions;
+    }
+
+    public void setInstructions(String instructions) {
+        this.instructions = instructions;
+    }
+
+    public String getYouTubeVid() {
+        return youTubeVid;
+    }
+
+    public void setYouTubeVid(String youTubeVid) {
+        this.youTubeVid = youTubeVid;
+    }
+
+    public boolean isDetailsLoaded() {
+        return detailsLoaded;
+    }
+
+    public void setDetailsLoaded(boolean detailsLoaded) {
+        this.detailsLoaded = detailsLoaded;
+    }
+
+    public Instant getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(Instant lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+}
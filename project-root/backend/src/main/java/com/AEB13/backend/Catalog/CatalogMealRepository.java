@@ -0,0 +1,44 @@
+package com.AEB13.backend.Catalog;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the mirrored {@link CatalogMeal} entities.
+ */
+@Repository
+public interface CatalogMealRepository extends CrudRepository<CatalogMeal, Long> {
+
+    /**
+     * Retrieves all mirrored meals.
+     *
+     * @return a list of all mirrored meals
+     */
+    List<CatalogMeal> findAll();
+
+    /**
+     * Finds the mirrored meals listed under a category.
+     *
+     * @param category the category name
+     * @return the meals in that category, ordered by name
+     */
+    List<CatalogMeal> findByCategoryIgnoreCaseOrderByNameAsc(String category);
+
+    /**
+     * Finds the mirrored meals listed under an area.
+     *
+     * @param area the area name
+     * @return the meals in that area, ordered by name
+     */
+    List<CatalogMeal> findByAreaIgnoreCaseOrderByNameAsc(String area);
+
+    /**
+     * Finds the mirrored meals whose name contains the given text.
+     *
+     * @param name the text to search for
+     * @return the matching meals, ordered by name
+     */
+    List<CatalogMeal> findByNameContainingIgnoreCaseOrderByNameAsc(String name);
+}
@@ -0,0 +1,31 @@
+package com.AEB13.backend.Catalog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically refreshes the catalog mirror when
+ * {@code themealdb.mirror.enabled} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "themealdb.mirror.enabled", havingValue = "true")
+public class CatalogMirrorScheduler {
+
+    /**
+     * Service performing the refresh.
+     */
+    @Autowired
+    private CatalogMirrorService catalogMirrorService;
+
+    /**
+     * Refreshes the mirror shortly after startup and then at the configured
+     * interval.
+     */
+    @Scheduled(initialDelayString = "${themealdb.mirror.initial-delay-ms:10000}",
+            fixedDelayString = "${themealdb.mirror.refresh-interval-ms:21600000}")
+    public void refresh() {
+        catalogMirrorService.refresh();
+    }
+}
@@ -0,0 +1,392 @@
+package com.AEB13.backend.Catalog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.AEB13.backend.Meal.Meal;
+import com.AEB13.backend.MealDB.MealDBClient;
+import com.AEB13.backend.MealDB.MealDBDetails;
+import com.AEB13.backend.MealDB.MealDBResponseParser;
+import com.AEB13.backend.MealDB.MealDBSummary;
+
+/**
+ * Service that keeps a local mirror of TheMealDB's catalog (categories, areas
+ * and meals) and answers catalog queries from it.
+ * <p>
+ * A refresh lists all categories and areas, then every meal in each of them.
+ * Only new or changed meals are written, meals no longer listed upstream are
+ * removed, and meal details are looked up once per meal. All upstream calls,
+ * detail lookups included, are made before anything is written, and the
+ * writes are applied in one transaction. If any upstream call fails the
+ * refresh is aborted and the previous mirror stays in place.
+ * </p>
+ */
+@Service
+public class CatalogMirrorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogMirrorService.class);
+
+    /**
+     * Repository for the mirrored categories.
+     */
+    @Autowired
+    private CatalogCategoryRepository categoryRepository;
+
+    /**
+     * Repository for the mirrored areas.
+     */
+    @Autowired
+    private CatalogAreaRepository areaRepository;
+
+    /**
+     * Repository for the mirrored meals.
+     */
+    @Autowired
+    private CatalogMealRepository catalogMealRepository;
+
+    /**
+     * Client for TheMealDB API.
+     */
+    @Autowired
+    private MealDBClient mealDBClient;
+
+    /**
+     * Whether catalog queries should be answered from the mirror at all.
+     */
+    @Value("${themealdb.mirror.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Maximum number of meal details looked up per refresh.
+     */
+    @Value("${themealdb.mirror.max-detail-lookups:500}")
+    private int maxDetailLookups;
+
+    /**
+     * Streaming parser for TheMealDB responses.
+     */
+    @Autowired
+    private MealDBResponseParser mealDBResponseParser;
+
+    /**
+     * Applies the writes of a refresh in one transaction.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Guards against overlapping refreshes.
+     */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * Whether the mirror holds a complete catalog.
+     */
+    private volatile boolean ready;
+
+    /**
+     * When the last refresh completed successfully.
+     */
+    private volatile Instant lastRefreshedAt;
+
+    /**
+     * Returns whether catalog queries can be answered from the mirror, i.e. the
+     * mirror is enabled and holds a catalog.
+     *
+     * @return true if the mirror should be used
+     */
+    public boolean isReady() {
+        if (!enabled) {
+            return false;
+        }
+        if (!ready && categoryRepository.count() > 0) {
+            // A catalog imported by an earlier run is still usable
+            ready = true;
+        }
+        return ready;
+    }
+
+    /**
+     * Refreshes the mirror from TheMealDB. Does nothing if a refresh is already
+     * running.
+     *
+     * @return true if a refresh ran and completed
+     */
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            Instant now = Instant.now();
+            List<String> categories = mealDBResponseParser.parseNames(mealDBClient.get("/list.php?c=list"),
+                    "strCategory");
+            List<String> areas = mealDBResponseParser.parseNames(mealDBClient.get("/list.php?a=list"), "strArea");
+
+            Map<Long, CatalogMeal> existing = new HashMap<>();
+            for (CatalogMeal meal : catalogMealRepository.findAll()) {
+                existing.put(meal.getId(), meal);
+            }
+
+            Map<Long, CatalogMeal> seen = new LinkedHashMap<>();
+            Set<CatalogMeal> changed = new HashSet<>();
+            for (String category : categories) {
+                for (MealDBSummary summary : readSummaries("/filter.php?c=" + category)) {
+                    CatalogMeal meal = mergeSummary(summary, existing, seen, changed);
+                    if (!Objects.equals(meal.getCategory(), category)) {
+                        meal.setCategory(category);
+                        changed.add(meal);
+                    }
+                }
+            }
+            for (String area : areas) {
+                for (MealDBSummary summary : readSummaries("/filter.php?a=" + area)) {
+                    CatalogMeal meal = mergeSummary(summary, existing, seen, changed);
+                    if (!Objects.equals(meal.getArea(), area)) {
+                        meal.setArea(area);
+                        changed.add(meal);
+                    }
+                }
+            }
+
+            int detailsLoaded = loadDetails(seen.values(), changed);
+            for (CatalogMeal meal : changed) {
+                meal.setLastSyncedAt(now);
+            }
+            Set<Long> removed = new HashSet<>(existing.keySet());
+            removed.removeAll(seen.keySet());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                saveNames(categories, areas);
+                catalogMealRepository.saveAll(changed);
+                catalogMealRepository.deleteAllById(removed);
+            });
+
+            ready = true;
+            lastRefreshedAt = now;
+            logger.info("Catalog mirror refreshed: {} categories, {} areas, {} meals ({} written, {} removed, "
+                    + "{} details loaded)", categories.size(), areas.size(), seen.size(), changed.size(),
+                    removed.size(), detailsLoaded);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Catalog mirror refresh failed: {}", e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Returns the mirrored category names.
+     *
+     * @return the category names in alphabetical order
+     */
+    public List<String> getCategoryNames() {
+        return categoryRepository.findAllByOrderByNameAsc().stream()
+                .map(CatalogCategory::getName)
+                .toList();
+    }
+
+    /**
+     * Returns the mirrored area names.
+     *
+     * @return the area names in alphabetical order
+     */
+    public List<String> getAreaNames() {
+        return areaRepository.findAllByOrderByNameAsc().stream()
+                .map(CatalogArea::getName)
+                .toList();
+    }
+
+    /**
+     * Finds mirrored meals by category or, if no category is given, by area.
+     *
+     * @param category the category to filter by (optional)
+     * @param area     the area to filter by (optional)
+     * @return the matching meals as summaries
+     */
+    public List<Meal> findMeals(String category, String area) {
+        List<CatalogMeal> meals = (category != null)
+                ? catalogMealRepository.findByCategoryIgnoreCaseOrderByNameAsc(category)
+                : catalogMealRepository.findByAreaIgnoreCaseOrderByNameAsc(area);
+        return toMeals(meals);
+    }
+
+    /**
+     * Finds mirrored meals whose name contains the given text.
+     *
+     * @param name the text to search for
+     * @return the matching meals as summaries
+     */
+    public List<Meal> searchMealsByName(String name) {
+        return toMeals(catalogMealRepository.findByNameContainingIgnoreCaseOrderByNameAsc(name));
+    }
+
+    /**
+     * Builds a response in the shape of TheMealDB's {@code filter.php} from the
+     * mirror.
+     *
+     * @param category the category to filter by (optional)
+     * @param area     the area to filter by (optional)
+     * @return a map with a "meals" list of idMeal/strMeal/strMealThumb entries
+     */
+    public Map<String, Object> getFilterResponse(String category, String area) {
+        List<Map<String, String>> meals = new ArrayList<>();
+        for (Meal meal : findMeals(category, area)) {
+            Map<String, String> entry = new LinkedHashMap<>();
+            entry.put("strMeal", meal.getName());
+            entry.put("strMealThumb", meal.getThumbnail());
+            entry.put("idMeal", String.valueOf(meal.getId()));
+            meals.add(entry);
+        }
+        Map<String, Object> response = new HashMap<>();
+        // TheMealDB returns null rather than an empty list when nothing matches
+        response.put("meals", meals.isEmpty() ? null : meals);
+        return response;
+    }
+
+    /**
+     * Returns the state of the mirror.
+     *
+     * @return a map with the mirror's status and row counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("ready", isReady());
+        status.put("refreshing", refreshing.get());
+        status.put("lastRefreshedAt", lastRefreshedAt);
+        status.put("categories", categoryRepository.count());
+        status.put("areas", areaRepository.count());
+        status.put("meals", catalogMealRepository.count());
+        return status;
+    }
+
+    /**
+     * Applies a {@code filter.php} summary to the mirrored meal with the same id,
+     * creating it if needed.
+     *
+     * @param summary  the upstream summary
+     * @param existing the meals already in the mirror
+     * @param seen     the meals listed upstream so far in this refresh
+     * @param changed  the meals that need to be written
+     * @return the mirrored meal
+     */
+    private CatalogMeal mergeSummary(MealDBSummary summary, Map<Long, CatalogMeal> existing,
+            Map<Long, CatalogMeal> seen, Set<CatalogMeal> changed) {
+        Long id = summary.id();
+        CatalogMeal meal = seen.get(id);
+        if (meal == null) {
+            meal = existing.get(id);
+            if (meal == null) {
+                meal = new CatalogMeal(id);
+                changed.add(meal);
+            }
+            seen.put(id, meal);
+        }
+        if (!Objects.equals(meal.getName(), summary.name())
+                || !Objects.equals(meal.getThumbnail(), summary.thumbnail())) {
+            meal.setName(summary.name());
+            meal.setThumbnail(summary.thumbnail());
+            changed.add(meal);
+        }
+        return meal;
+    }
+
+    /**
+     * Looks up the details of listed meals that do not have them yet, at most
+     * {@code themealdb.mirror.max-detail-lookups} of them, lowest id first.
+     * The meals are only updated in memory.
+     *
+     * @param meals   the meals listed upstream
+     * @param changed the meals that need to be written, to which the updated
+     *                meals are added
+     * @return the number of meals whose details were loaded
+     */
+    private int loadDetails(Collection<CatalogMeal> meals, Set<CatalogMeal> changed) throws Exception {
+        List<CatalogMeal> pending = meals.stream()
+                .filter(meal -> !meal.isDetailsLoaded())
+                .sorted(Comparator.comparing(CatalogMeal::getId))
+                .limit(maxDetailLookups)
+                .toList();
+        for (CatalogMeal meal : pending) {
+            List<MealDBDetails> details = mealDBResponseParser
+                    .parseDetails(mealDBClient.get("/lookup.php?i=" + meal.getId()));
+            if (!details.isEmpty()) {
+                MealDBDetails detail = details.get(0);
+                meal.setInstructions(detail.instructions());
+                meal.setYouTubeVid(detail.youTubeVid());
+                meal.setIngredients(detail.ingredients());
+            }
+            meal.setDetailsLoaded(true);
+            changed.add(meal);
+        }
+        return pending.size();
+    }
+
+    /**
+     * Replaces the mirrored category and area names.
+     *
+     * @param categories the category names listed upstream
+     * @param areas      the area names listed upstream
+     */
+    private void saveNames(List<String> categories, List<String> areas) {
+        Set<String> staleCategories = new HashSet<>();
+        categoryRepository.findAll().forEach(category -> staleCategories.add(category.getName()));
+        staleCategories.removeAll(categories);
+        categoryRepository.deleteAllById(staleCategories);
+        categoryRepository.saveAll(categories.stream().map(CatalogCategory::new).toList());
+
+        Set<String> staleAreas = new HashSet<>();
+        areaRepository.findAll().forEach(area -> staleAreas.add(area.getName()));
+        staleAreas.removeAll(areas);
+        areaRepository.deleteAllById(staleAreas);
+        areaRepository.saveAll(areas.stream().map(CatalogArea::new).toList());
+    }
+
+    /**
+     * Requests a {@code filter.php} path and parses the listed meal summaries.
+     *
+     * @param path the request path
+     * @return the summaries, empty if the response has none
+     */
+    private List<MealDBSummary> readSummaries(String path) throws Exception {
+        return mealDBResponseParser.parseSummaries(mealDBClient.get(path));
+    }
+
+    /**
+     * Converts mirrored meals into summary {@link Meal} objects, as returned for
+     * TheMealDB search results.
+     *
+     * @param catalogMeals the mirrored meals
+     * @return the meal summaries
+     */
+    private List<Meal> toMeals(List<CatalogMeal> catalogMeals) {
+        List<Meal> meals = new ArrayList<>();
+        for (CatalogMeal catalogMeal : catalogMeals) {
+            Meal meal = new Meal();
+            meal.setId(catalogMeal.getId());
+            meal.setName(catalogMeal.getName());
+            meal.setThumbnail(catalogMeal.getThumbnail());
+            meal.setCategory(catalogMeal.getCategory());
+            meals.add(meal);
+        }
+        return meals;
+    }
+}
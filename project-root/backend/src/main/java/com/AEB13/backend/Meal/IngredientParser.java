@@ -0,0 +1,448 @@
+package com.AEB13.backend.Meal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the ingredient text of a meal, a comma separated list of
+ * "ingredient - measure" items such as "Flour - 200g, Salt - to taste".
+ * <p>
+ * Measures starting with a number, decimal or fraction (including ¼, ½ and
+ * ¾) are split into quantity, normalized unit and an optional parenthesized
+ * note. All other measures are kept as text. Items without exactly one
+ * " - " separator are skipped.
+ * </p>
+ * <p>
+ * The text is scanned by hand in a single pass over index ranges, so apart
+ * from the resulting strings nothing is allocated per item. The scanner
+ * accepts exactly what the previous implementation accepted, which split the
+ * text with {@link String#split} and matched each measure against
+ * {@code ^([\d./¼½¾]+)\s*([a-zA-Z]+|...)?\s*(\(.*\))?$}.
+ * </p>
+ */
+public final class IngredientParser {
+
+    /**
+     * Separates the ingredient from its measure.
+     */
+    private static final String SEPARATOR = " - ";
+
+    /**
+     * Unit spellings normalized without allocating, as pairs of spelling and
+     * normalized unit. Must agree with {@link #normalizeUnit(String)}.
+     */
+    private static final String[] UNIT_ALIASES = {
+            "tsp", "tsp", "teaspoon", "tsp",
+            "tbsp", "tbsp", "tablespoon", "tbsp",
+            "g", "g", "gram", "g", "grams", "g",
+            "kg", "kg", "kilogram", "kg", "kilograms", "kg",
+            "ml", "ml", "milliliter", "ml", "milliliters", "ml",
+            "oz", "oz", "ounce", "oz", "ounces", "oz",
+    };
+
+    /**
+     * Powers of ten that are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+
+    /**
+     * Maximum number of digits in a decimal whose value is computed directly.
+     * Below 2^53, so the digits are exact as a long converted to double.
+     */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private IngredientParser() {
+    }
+
+    /**
+     * Parses the ingredient text of a meal.
+     *
+     * @param ingredients the ingredient text, may be null
+     * @return the parsed items in their original order
+     */
+    public static List<ParsedIngredient> parse(String ingredients) {
+        List<ParsedIngredient> parsed = new ArrayList<>();
+        if (ingredients == null) {
+            return parsed;
+        }
+        int length = ingredients.length();
+        int start = 0;
+        while (start <= length) {
+            int end = ingredients.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            parseItem(ingredients, start, end, parsed);
+            start = end + 1;
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses one "ingredient - measure" item.
+     *
+     * @param text   the ingredient text
+     * @param from   the start of the item
+     * @param to     the end of the item, exclusive
+     * @param parsed the list to add the parsed item to
+     */
+    private static void parseItem(String text, int from, int to, List<ParsedIngredient> parsed) {
+        int separator = text.indexOf(SEPARATOR, from);
+        if (separator < 0 || separator >= to) {
+            return;
+        }
+        int measureStart = separator + SEPARATOR.length();
+        int measureEnd = text.indexOf(SEPARATOR, measureStart);
+        if (measureEnd < 0 || measureEnd >= to) {
+            measureEnd = to;
+        } else {
+            // Further separators are only tolerated at the end, where String.split
+            // dropped the empty parts between them
+            for (int i = measureEnd; i < to; i += SEPARATOR.length()) {
+                if (!text.startsWith(SEPARATOR, i) || i + SEPARATOR.length() > to) {
+                    return;
+                }
+            }
+        }
+        if (measureStart == measureEnd) {
+            return;
+        }
+
+        int ingredientStart = trimStart(text, from, separator);
+        int ingredientEnd = trimEnd(text, ingredientStart, separator);
+        String ingredient = text.substring(ingredientStart, ingredientEnd);
+        measureStart = trimStart(text, measureStart, measureEnd);
+        measureEnd = trimEnd(text, measureStart, measureEnd);
+        parsed.add(parseMeasure(text, measureStart, measureEnd, ingredient));
+    }
+
+    /**
+     * Parses a trimmed measure into quantity, unit and note, or keeps it as
+     * text if it does not start with a valid number.
+     *
+     * @param text       the ingredient text
+     * @param from       the start of the measure
+     * @param to         the end of the measure, exclusive
+     * @param ingredient the ingredient the measure belongs to
+     * @return the parsed item
+     */
+    private static ParsedIngredient parseMeasure(String text, int from, int to, String ingredient) {
+        int end = to;
+        if (end > from && isLineTerminator(text.charAt(end - 1))) {
+            // The regex's $ also matched before a final line terminator
+            end--;
+        }
+
+        int i = from;
+        while (i < end && isQuantityChar(text.charAt(i))) {
+            i++;
+        }
+        int quantityEnd = i;
+        i = skipSpaces(text, i, end);
+        int unitStart = i;
+        while (i < end && isAsciiLetter(text.charAt(i))) {
+            i++;
+        }
+        int unitEnd = i;
+        int noteStart = skipSpaces(text, i, end);
+
+        Double quantity = null;
+        if (quantityEnd > from && isNote(text, noteStart, end)) {
+            quantity = parseQuantity(text, from, quantityEnd);
+        }
+        if (quantity == null) {
+            return new ParsedIngredient(ingredient, null, null, text.substring(from, to));
+        }
+        String unit = unitEnd > unitStart ? unit(text, unitStart, unitEnd) : "";
+        String note = noteStart < end ? text.substring(noteStart, end) : "";
+        return new ParsedIngredient(ingredient, quantity, unit, note);
+    }
+
+    /**
+     * Returns whether the rest of a measure is empty or a parenthesized note.
+     *
+     * @param text the ingredient text
+     * @param from the start of the rest
+     * @param to   the end of the measure, exclusive
+     * @return true if the measure can end here
+     */
+    private static boolean isNote(String text, int from, int to) {
+        if (from == to) {
+            return true;
+        }
+        if (to - from < 2 || text.charAt(from) != '(' || text.charAt(to - 1) != ')') {
+            return false;
+        }
+        for (int i = from + 1; i < to - 1; i++) {
+            if (isLineTerminator(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the value of a quantity made of digits, dots, slashes and
+     * fraction glyphs.
+     * <p>
+     * Glyphs count as the fraction they stand for, spliced into the text, so
+     * "1½" reads as "11/2". A quantity with a slash needs exactly two parts
+     * around it, ignoring empty parts at the end. Decimals of up to 15 digits
+     * are computed directly, which is exact because both the digits and the
+     * power of ten are exact doubles; longer ones fall back to
+     * {@link Double#parseDouble}.
+     * </p>
+     *
+     * @param text the ingredient text
+     * @param from the start of the quantity
+     * @param to   the end of the quantity, exclusive
+     * @return the value, or null if the quantity is not a valid number
+     */
+    private static Double parseQuantity(String text, int from, int to) {
+        boolean fraction = false;
+        int part = 0;
+        int lastNonEmptyPart = -1;
+        double numerator = 0;
+        double denominator = 0;
+        boolean numeratorValid = false;
+        boolean denominatorValid = false;
+
+        long digitValue = 0;
+        int digits = 0;
+        int dots = 0;
+        int scale = 0;
+        for (int i = from; i <= to; i++) {
+            String glyph = i < to ? fractionGlyph(text.charAt(i)) : null;
+            int length = i == to ? 1 : glyph != null ? glyph.length() : 1;
+            for (int k = 0; k < length; k++) {
+                char c = i == to ? '/' : glyph != null ? glyph.charAt(k) : text.charAt(i);
+                if (c == '/') {
+                    // Close the current part, or the last one at the end of the quantity
+                    if (digits > MAX_FAST_DIGITS || scale >= POWERS_OF_TEN.length) {
+                        return parseQuantityExactly(text.substring(from, to));
+                    }
+                    boolean valid = digits > 0 && dots <= 1;
+                    double value = digitValue / POWERS_OF_TEN[scale];
+                    if (digits + dots > 0) {
+                        lastNonEmptyPart = part;
+                    }
+                    if (part == 0) {
+                        numerator = value;
+                        numeratorValid = valid;
+                    } else if (part == 1) {
+                        denominator = value;
+                        denominatorValid = valid;
+                    }
+                    part++;
+                    fraction |= i < to;
+                    digitValue = 0;
+                    digits = 0;
+                    dots = 0;
+                    scale = 0;
+                } else if (c == '.') {
+                    dots++;
+                } else {
+                    digitValue = digitValue * 10 + (c - '0');
+                    digits++;
+                    if (dots > 0) {
+                        scale++;
+                    }
+                }
+            }
+        }
+
+        if (!fraction) {
+            return numeratorValid ? numerator : null;
+        }
+        if (lastNonEmptyPart != 1 || !numeratorValid || !denominatorValid) {
+            return null;
+        }
+        return numerator / denominator;
+    }
+
+    /**
+     * Computes the value of a quantity the way the previous implementation
+     * did, for quantities too long to compute directly.
+     *
+     * @param quantity the quantity
+     * @return the value, or null if the quantity is not a valid number
+     */
+    private static Double parseQuantityExactly(String quantity) {
+        try {
+            return parseFraction(convertSpecialFractions(quantity));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Normalizes a unit, avoiding a copy for the common lower case spellings.
+     *
+     * @param text the ingredient text
+     * @param from the start of the unit
+     * @param to   the end of the unit, exclusive
+     * @return the normalized unit
+     */
+    private static String unit(String text, int from, int to) {
+        int length = to - from;
+        for (int i = 0; i < UNIT_ALIASES.length; i += 2) {
+            String alias = UNIT_ALIASES[i];
+            if (alias.length() == length && text.startsWith(alias, from)) {
+                return UNIT_ALIASES[i + 1];
+            }
+        }
+        return normalizeUnit(text.substring(from, to));
+    }
+
+    /**
+     * Returns the fraction a fraction glyph stands for.
+     *
+     * @param c the character
+     * @return the fraction, or null if the character is not a fraction glyph
+     */
+    private static String fractionGlyph(char c) {
+        return switch (c) {
+            case '¼' -> "1/4";
+            case '½' -> "1/2";
+            case '¾' -> "3/4";
+            default -> null;
+        };
+    }
+
+    /**
+     * Converts common fraction characters (¼, ½, ¾) to their numeric equivalents
+     * ("1/4", "1/2", "3/4").
+     *
+     * @param input the original string potentially containing special fraction
+     *              characters
+     * @return the string with special fractions replaced by numeric fractions
+     */
+    private static String convertSpecialFractions(String input) {
+        return input
+                .replace("¼", "1/4")
+                .replace("½", "1/2")
+                .replace("¾", "3/4");
+    }
+
+    /**
+     * Normalizes various unit strings to a standard format (e.g., "tablespoon" ->
+     * "tbsp").
+     *
+     * @param unit the original unit string
+     * @return a normalized unit string
+     */
+    static String normalizeUnit(String unit) {
+        if (unit == null)
+            return "";
+        unit = unit.toLowerCase().trim();
+        switch (unit) {
+            case "tsp":
+            case "teaspoon":
+                return "tsp";
+            case "tbsp":
+            case "tablespoon":
+                return "tbsp";
+            case "g":
+            case "gram":
+            case "grams":
+                return "g";
+            case "kg":
+            case "kilogram":
+            case "kilograms":
+                return "kg";
+            case "ml":
+            case "milliliter":
+            case "milliliters":
+                return "ml";
+            case "oz":
+            case "ounce":
+            case "ounces":
+                return "oz";
+            default:
+                return unit;
+        }
+    }
+
+    /**
+     * Parses a fraction or numeric string into a double.
+     * <p>
+     * Handles both fraction (e.g., "1/2") and decimal (e.g., "0.5") formats.
+     * </p>
+     *
+     * @param input the string to parse
+     * @return the numeric value
+     * @throws NumberFormatException if the format is invalid
+     */
+    private static double parseFraction(String input) throws NumberFormatException {
+        if (input.contains("/")) {
+            String[] fractionParts = input.split("/");
+            if (fractionParts.length == 2) {
+                double numerator = Double.parseDouble(fractionParts[0].trim());
+                double denominator = Double.parseDouble(fractionParts[1].trim());
+                return numerator / denominator;
+            } else {
+                throw new NumberFormatException("Invalid fraction format");
+            }
+        }
+        return Double.parseDouble(input);
+    }
+
+    /**
+     * Skips the characters the regex's {@code \s} matched.
+     *
+     * @param text the ingredient text
+     * @param from the index to start at
+     * @param to   the index to stop at
+     * @return the index of the first other character, or {@code to}
+     */
+    private static int skipSpaces(String text, int from, int to) {
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the first index of a range that {@link String#trim()} would keep.
+     */
+    private static int trimStart(String text, int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the end of a range that {@link String#trim()} would keep.
+     */
+    private static int trimEnd(String text, int from, int to) {
+        while (to > from && text.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean isQuantityChar(char c) {
+        return (c >= '0' && c <= '9') || c == '.' || c == '/' || fractionGlyph(c) != null;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * Returns whether a character ends a line for the regex's {@code .} and
+     * {@code $}.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
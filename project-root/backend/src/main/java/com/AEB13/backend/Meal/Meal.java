@@ -5,7 +5,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * Represents a Meal entity in the application.
@@ -16,14 +21,23 @@ import jakarta.persistence.Table;
  * </p>
  */
 @Entity
-@Table(name = "meals")
+@Table(name = "meals", indexes = {
+        @Index(name = "idx_meals_category", columnList = "category"),
+        @Index(name = "idx_meals_favorite", columnList = "favorite"),
+        @Index(name = "idx_meals_is_custom", columnList = "is_custom")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_meals_name", columnNames = "name"))
 public class Meal {
 
     /**
      * The unique identifier for this Meal.
+     * <p>
+     * Ids come from the meals_seq sequence in blocks of 50, so Hibernate can
+     * batch inserts instead of executing each one to read back its id.
+     * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meals_seq")
+    @SequenceGenerator(name = "meals_seq", sequenceName = "meals_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -88,6 +102,15 @@ public class Meal {
     @Column(nullable = false)
     private boolean isCustom = false;
 
+    /**
+     * Whether the ingredient text has been parsed into {@link MealIngredient}
+     * rows. Setting it claims the meal for parsing, so each meal is parsed once
+     * even if several writers or instances try at the same time.
+     */
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean ingredientsParsed = false;
+
     public String getCategory() {
         return category;
     }
@@ -184,4 +207,12 @@ public class Meal {
         this.isCustom = isCustom;
     }
 
+
+    public boolean isIngredientsParsed() {
+        return ingredientsParsed;
+    }
+
+    public void setIngredientsParsed(boolean ingredientsParsed) {
+        this.ingredientsParsed = ingredientsParsed;
+    }
 }
@@ -0,0 +1,10 @@
+package com.AEB13.backend.Meal;
+
+/**
+ * Published after a saved meal was updated or deleted, so that results derived
+ * from it, such as cached shopping lists, can be dropped.
+ *
+ * @param mealId the id of the changed meal
+ */
+public record MealChangedEvent(Long mealId) {
+}
@@ -1,13 +1,17 @@
 package com.AEB13.backend.Meal;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,9 +21,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.AEB13.backend.Catalog.CatalogMirrorService;
+import com.AEB13.backend.MealDB.MealDBClient;
+import com.AEB13.backend.MealDB.MealDBResponseParser;
 
 /**
  * Controller class that handles HTTP requests for Meal-related endpoints.
@@ -28,15 +33,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class MealController {
 
     /**
-     * Base URL for TheMealDB API, injected from application properties.
+     * Caching client for TheMealDB API.
      */
-    @Value("${themealdb.api.url}")
-    private String themealdbApiUrl;
+    @Autowired
+    private MealDBClient mealDBClient;
 
     /**
-     * A RestTemplate instance for making external API calls.
+     * Streaming parser for TheMealDB responses.
      */
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private MealDBResponseParser mealDBResponseParser;
 
     /**
      * Repository for CRUD operations on Meal entities.
@@ -50,6 +56,24 @@ public class MealController {
     @Autowired
     private MealService mealService;
 
+    /**
+     * Service for bulk meal imports.
+     */
+    @Autowired
+    private MealImportService mealImportService;
+
+    /**
+     * Write-behind buffer for saved and cooked counts.
+     */
+    @Autowired
+    private MealCounterBuffer mealCounterBuffer;
+
+    /**
+     * Local mirror of TheMealDB's catalog, used instead of the API once loaded.
+     */
+    @Autowired
+    private CatalogMirrorService catalogMirrorService;
+
     /*
      * gets a meal from the database using its id
      * 
@@ -68,20 +92,19 @@ public class MealController {
     }
 
     /**
-     * Adds a meal to the database. If the meal already exists, returns an error
-     * response. Otherwise, creates a new record.
+     * Adds a meal to the database. If a meal with the same name already exists,
+     * its saved count is incremented instead.
      *
      * @param meal the Meal object to be added
-     * @return the saved Meal entity or an error response if it already exists
+     * @return the saved Meal entity or an error response if it has no name
      */
     @PostMapping("/api/meals/add")
     public ResponseEntity<?> addMeal(@RequestBody Meal meal) {
-        try {
-            Meal savedMeal = mealService.addMeal(meal); // Service layer now handles duplicates
-            return ResponseEntity.ok(savedMeal);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(409).body(e.getMessage());
+        if (meal.getName() == null || meal.getName().isBlank()) {
+            return ResponseEntity.badRequest().body("A meal needs a name.");
         }
+        Meal savedMeal = mealService.addMeal(meal);
+        return ResponseEntity.ok(savedMeal);
     }
 
     /**
@@ -100,6 +123,24 @@ public class MealController {
         return ResponseEntity.ok(savedMeal);
     }
 
+    /**
+     * Imports many meals at once from a JSON array or an NDJSON stream (one meal
+     * object per line). Duplicate and invalid meals are skipped and reported.
+     *
+     * @param body the meals to import
+     * @return the number of created, duplicate, invalid and failed meals and the
+     *         outcome of each meal
+     */
+    @PostMapping(value = "/api/meals/import",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<?> importMeals(InputStream body) {
+        try {
+            return ResponseEntity.ok(mealImportService.importMeals(body));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Error reading meals: " + e.getMessage());
+        }
+    }
+
     /**
      * Filters meals based on a specific category or area.
      * <p>
@@ -119,17 +160,21 @@ public class MealController {
             return ResponseEntity.badRequest().body("At least one filter (category or area) must be specified.");
         }
 
+        boolean byCategory = category != null && !category.isEmpty();
+        if (catalogMirrorService.isReady()) {
+            return ResponseEntity.ok(catalogMirrorService.getFilterResponse(byCategory ? category : null, area));
+        }
+
         String filterEndpoint;
 
-        if (category != null && !category.isEmpty()) {
-            filterEndpoint = themealdbApiUrl + "/filter.php?c=" + category;
+        if (byCategory) {
+            filterEndpoint = "/filter.php?c=" + category;
         } else {
-            filterEndpoint = themealdbApiUrl + "/filter.php?a=" + area;
+            filterEndpoint = "/filter.php?a=" + area;
         }
 
         try {
-            ResponseEntity<String> response = restTemplate.getForEntity(filterEndpoint, String.class);
-            return ResponseEntity.ok(response.getBody());
+            return ResponseEntity.ok(mealDBClient.get(filterEndpoint));
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error fetching filtered meals: " + e.getMessage());
         }
@@ -142,25 +187,30 @@ public class MealController {
      */
     @GetMapping("/api/meals/categoriesAndAreas")
     public ResponseEntity<?> getCategoriesAndAreas() {
-        String categoriesUrl = themealdbApiUrl + "/list.php?c=list";
-        String areasUrl = themealdbApiUrl + "/list.php?a=list";
+        if (catalogMirrorService.isReady()) {
+            List<Map<String, String>> combinedFilters = new ArrayList<>();
+            for (String category : catalogMirrorService.getCategoryNames()) {
+                combinedFilters.add(Map.of("type", "Category", "value", category));
+            }
+            for (String area : catalogMirrorService.getAreaNames()) {
+                combinedFilters.add(Map.of("type", "Area", "value", area));
+            }
+            return ResponseEntity.ok(Map.of("filters", combinedFilters));
+        }
 
         try {
-            ResponseEntity<String> categoriesResponse = restTemplate.getForEntity(categoriesUrl, String.class);
-            ResponseEntity<String> areasResponse = restTemplate.getForEntity(areasUrl, String.class);
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            List<Map<String, String>> categories = (List<Map<String, String>>) objectMapper
-                    .readValue(categoriesResponse.getBody(), Map.class).get("meals");
-            List<Map<String, String>> areas = (List<Map<String, String>>) objectMapper
-                    .readValue(areasResponse.getBody(), Map.class).get("meals");
+            // Both lists are independent, so request them concurrently
+            CompletableFuture<String> categoriesRequest = mealDBClient.getAsync("/list.php?c=list");
+            CompletableFuture<String> areasRequest = mealDBClient.getAsync("/list.php?a=list");
+            String categoriesResponse = categoriesRequest.join();
+            String areasResponse = areasRequest.join();
 
             List<Map<String, String>> combinedFilters = new ArrayList<>();
-            for (Map<String, String> category : categories) {
-                combinedFilters.add(Map.of("type", "Category", "value", category.get("strCategory")));
+            for (String category : mealDBResponseParser.parseNames(categoriesResponse, "strCategory")) {
+                combinedFilters.add(Map.of("type", "Category", "value", category));
             }
-            for (Map<String, String> area : areas) {
-                combinedFilters.add(Map.of("type", "Area", "value", area.get("strArea")));
+            for (String area : mealDBResponseParser.parseNames(areasResponse, "strArea")) {
+                combinedFilters.add(Map.of("type", "Area", "value", area));
             }
 
             Map<String, Object> response = Map.of("filters", combinedFilters);
@@ -172,13 +222,28 @@ public class MealController {
     }
 
     /**
-     * Retrieves all meals from the local database.
+     * Retrieves the meals from the local database. If any of limit, cursor or
+     * sort is given, one page is returned together with the cursor of the next
+     * page; otherwise all meals are returned as a list.
      *
-     * @return a list of all Meal entities
+     * @param limit  the page size (optional)
+     * @param cursor the cursor returned with the previous page (optional)
+     * @param sort   the order of the listing: id, name or savedCount (optional)
+     * @return the summaries of all meals, or a page of them
      */
     @GetMapping("/api/meals")
-    public List<Meal> getAllMeals() {
-        return mealService.getAllMeals();
+    public ResponseEntity<?> getAllMeals(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort) {
+        if (limit == null && cursor == null && sort == null) {
+            return ResponseEntity.ok(mealService.getAllMealSummaries());
+        }
+        try {
+            return ResponseEntity.ok(mealService.getMealPage(MealSort.fromParameter(sort), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -197,45 +262,132 @@ public class MealController {
      * Toggles the favorite status of a specific meal by its ID.
      *
      * @param id the ID of the meal whose favorite status to toggle
-     * @return the updated Meal object, or 404 if not found
+     * @return the summary of the updated meal, or 404 if not found
      */
     @PutMapping("/api/meals/{id}")
-    public ResponseEntity<Meal> toggleFavorite(@PathVariable Long id) {
-        Optional<Meal> mealOptional = mealRepository.findById(id);
-        if (mealOptional.isPresent()) {
-            Meal meal = mealOptional.get();
-            meal.setFavorite(!meal.isFavorite());
-            mealRepository.save(meal);
-            return ResponseEntity.ok(meal);
+    public ResponseEntity<MealSummary> toggleFavorite(@PathVariable Long id) {
+        Optional<MealSummary> meal = mealService.toggleFavorite(id);
+        if (meal.isPresent()) {
+            return ResponseEntity.ok(meal.get());
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     /**
-     * Searches for custom meals by name.
+     * Toggles the favorite status of many meals at once.
      *
-     * @param name the name (or partial name) of the custom meal to search
-     * @return a list of custom meals that match the search criteria
+     * @param ids the IDs of the meals whose favorite status to toggle
+     * @return the number of meals updated
+     */
+    @PutMapping("/api/meals/favorite")
+    public ResponseEntity<Map<String, Integer>> toggleFavorites(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(Map.of("updated", mealService.toggleFavorites(ids)));
+    }
+
+    /**
+     * Records that a meal has been cooked. The cooked count is updated
+     * asynchronously by the {@link MealCounterBuffer}.
+     *
+     * @param id the ID of the cooked meal
+     * @return 202 Accepted
+     */
+    @PostMapping("/api/meals/{id}/cooked")
+    public ResponseEntity<Void> markCooked(@PathVariable Long id) {
+        mealCounterBuffer.record(id, MealCounterBuffer.Counter.COOKED);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Records that many meals have been cooked, e.g. all meals of a weekly plan.
+     * The cooked counts are updated asynchronously.
+     *
+     * @param ids the IDs of the cooked meals
+     * @return 202 Accepted
+     */
+    @PostMapping("/api/meals/cooked")
+    public ResponseEntity<Void> markCooked(@RequestBody List<Long> ids) {
+        mealCounterBuffer.recordAll(ids, MealCounterBuffer.Counter.COOKED);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Records that many already saved meals have been saved again. The saved
+     * counts are updated asynchronously.
+     *
+     * @param ids the IDs of the saved meals
+     * @return 202 Accepted
+     */
+    @PostMapping("/api/meals/saved")
+    public ResponseEntity<Void> markSaved(@RequestBody List<Long> ids) {
+        mealCounterBuffer.recordAll(ids, MealCounterBuffer.Counter.SAVED);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Searches the saved meals and TheMealDB by name, category or area. If
+     * favorite or custom is given, only saved meals with those flags are
+     * searched; saved meals have no area, so area cannot be combined with
+     * them. Search text returns the best matches only, while a category
+     * listing returns every match. If any of limit, cursor or sort is given,
+     * one page of the results is returned together with the cursor of the
+     * next page.
+     *
+     * @param name     the name (or partial name) of the meal to search (optional)
+     * @param category the category to filter by (optional)
+     * @param area     the area to filter by (optional)
+     * @param favorite only return saved meals with this favorite flag (optional)
+     * @param custom   only return saved meals with this custom flag (optional)
+     * @param limit    the page size (optional)
+     * @param cursor   the cursor returned with the previous page (optional)
+     * @param sort     the order of the results: id, name or savedCount (optional)
+     * @return the summaries of the meals that match the search criteria, or
+     *         400 if area is combined with favorite or custom
      */
     @GetMapping("/api/meals/search-filter")
-    public ResponseEntity<List<Meal>> searchAndFilterMeals(
+    public ResponseEntity<?> searchAndFilterMeals(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String area) {
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) Boolean custom,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort) {
+
+        boolean paged = limit != null || cursor != null || sort != null;
+        MealSort mealSort;
+        try {
+            mealSort = MealSort.fromParameter(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // Without a search or filter, a page can be read directly from the database
+        if (paged && category == null && area == null && favorite == null && custom == null
+                && (name == null || name.isEmpty())) {
+            try {
+                return ResponseEntity.ok(mealService.getMealPage(mealSort, cursor, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
 
-        List<Meal> combinedMeals = new ArrayList<>();
+        List<MealSummary> combinedMeals = new ArrayList<>();
 
+        // Favorite and custom flags only exist on saved meals
+        if (favorite != null || custom != null) {
+            if (area != null) {
+                return ResponseEntity.badRequest()
+                        .body("area cannot be combined with favorite or custom: saved meals have no area.");
+            }
+            combinedMeals.addAll(mealService.searchLocalMeals(name, category, favorite, custom));
+        }
         // Handle filtered scenarios (category or area)
-        if (category != null || area != null) {
+        else if (category != null || area != null) {
             try {
-                // Fetch filtered meals from MealDB if category or area is provided
-                String filterEndpoint = (category != null)
-                        ? themealdbApiUrl + "/filter.php?c=" + category
-                        : themealdbApiUrl + "/filter.php?a=" + area;
-
-                ResponseEntity<String> response = restTemplate.getForEntity(filterEndpoint, String.class);
-                List<Meal> filteredApiMeals = mealService.parseMealDBResponse(response.getBody());
+                // Fetch filtered meals from MealDB (or its local mirror) if category or area is provided
+                List<Meal> filteredApiMeals = mealService.filterMealDBMeals(category, area);
 
                 // If name is provided, filter API meals by name
                 if (name != null && !name.isEmpty()) {
@@ -246,15 +398,11 @@ public class MealController {
 
                 // For category filter, include custom meals
                 if (category != null) {
-                    List<Meal> filteredCustomMeals = mealRepository.findAll().stream()
-                            .filter(meal -> meal.getCategory().equalsIgnoreCase(category) &&
-                                    (name == null || meal.getName().toLowerCase().contains(name.toLowerCase())))
-                            .collect(Collectors.toList());
-                    combinedMeals.addAll(filteredCustomMeals);
+                    combinedMeals.addAll(mealService.searchLocalMeals(name, category, null, null));
                 }
 
                 // Combine filtered API meals
-                combinedMeals.addAll(filteredApiMeals);
+                filteredApiMeals.forEach(meal -> combinedMeals.add(MealSummary.of(meal)));
             } catch (Exception e) {
                 return ResponseEntity.status(500).body(null);
             }
@@ -263,18 +411,27 @@ public class MealController {
         else {
             if (name != null && !name.isEmpty()) {
                 List<Meal> apiMeals = mealService.searchMealByName(name);
-                List<Meal> customMeals = mealRepository.findByNameContainingIgnoreCase(name);
-                combinedMeals.addAll(apiMeals);
+                List<MealSummary> customMeals = mealService.searchLocalMeals(name, null, null, null);
+                apiMeals.forEach(meal -> combinedMeals.add(MealSummary.of(meal)));
                 combinedMeals.addAll(customMeals);
             } else {
-                combinedMeals.addAll(mealRepository.findAll());
+                combinedMeals.addAll(mealService.getAllMealSummaries());
             }
         }
 
-        // Remove duplicates
-        Map<Long, Meal> uniqueMeals = combinedMeals.stream()
-                .collect(Collectors.toMap(Meal::getId, meal -> meal, (existing, replacement) -> existing));
+        // Remove duplicates, keeping the ranked order
+        Map<Long, MealSummary> uniqueMeals = combinedMeals.stream()
+                .collect(Collectors.toMap(MealSummary::id, meal -> meal, (existing, replacement) -> existing,
+                        LinkedHashMap::new));
 
-        return ResponseEntity.ok(new ArrayList<>(uniqueMeals.values()));
+        List<MealSummary> results = new ArrayList<>(uniqueMeals.values());
+        if (!paged) {
+            return ResponseEntity.ok(results);
+        }
+        try {
+            return ResponseEntity.ok(mealService.paginate(results, mealSort, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
@@ -0,0 +1,202 @@
+package com.AEB13.backend.Meal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind buffer for "saved" and "cooked" events of meals.
+ * <p>
+ * Events are accepted into a bounded queue without touching the database.
+ * A periodic flush drains the queue, adds up the events per meal and counter,
+ * and writes them with one bulk update per distinct increment, so a burst of
+ * events on a popular meal becomes a single row update. When the queue is
+ * full, the thread recording the event flushes it first, which slows
+ * producers down to the speed of the database instead of dropping events.
+ * Pending events are flushed when the application shuts down.
+ * </p>
+ */
+@Component
+public class MealCounterBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealCounterBuffer.class);
+
+    /**
+     * The counters of a meal that events can increment.
+     */
+    public enum Counter {
+        SAVED, COOKED
+    }
+
+    /**
+     * A single increment of a meal's counter.
+     */
+    private record Event(long mealId, Counter counter) {
+    }
+
+    /**
+     * Repository the accumulated increments are written with.
+     */
+    private final MealRepository mealRepository;
+
+    /**
+     * Events accepted but not yet flushed.
+     */
+    private final BlockingQueue<Event> queue;
+
+    /**
+     * Increments drained from the queue but not yet written, by counter and
+     * meal id. Only accessed while holding the buffer's lock.
+     */
+    private final Map<Counter, Map<Long, Integer>> pending = new HashMap<>();
+
+    /**
+     * Number of events accepted.
+     */
+    private final AtomicLong accepted = new AtomicLong();
+
+    /**
+     * Number of events written to the database.
+     */
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * Number of bulk update statements executed.
+     */
+    private final AtomicLong updates = new AtomicLong();
+
+    /**
+     * Number of flushes run by producers because the queue was full.
+     */
+    private final AtomicLong producerFlushes = new AtomicLong();
+
+    /**
+     * Creates the buffer with a queue bounded to the configured capacity.
+     *
+     * @param mealRepository the repository used to write the counters
+     * @param capacity       the maximum number of queued events
+     */
+    public MealCounterBuffer(MealRepository mealRepository,
+            @Value("${meals.counters.queue-capacity:10000}") int capacity) {
+        this.mealRepository = mealRepository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        for (Counter counter : Counter.values()) {
+            pending.put(counter, new HashMap<>());
+        }
+    }
+
+    /**
+     * Records one increment of a meal's counter. Returns immediately unless the
+     * queue is full, in which case the calling thread flushes it first.
+     *
+     * @param mealId  the ID of the meal
+     * @param counter the counter to increment
+     */
+    public void record(long mealId, Counter counter) {
+        Event event = new Event(mealId, counter);
+        while (!queue.offer(event)) {
+            producerFlushes.incrementAndGet();
+            flush();
+        }
+        accepted.incrementAndGet();
+    }
+
+    /**
+     * Records one increment of a counter for each of the given meals.
+     *
+     * @param mealIds the IDs of the meals
+     * @param counter the counter to increment
+     */
+    public void recordAll(List<Long> mealIds, Counter counter) {
+        for (Long mealId : mealIds) {
+            record(mealId, counter);
+        }
+    }
+
+    /**
+     * Writes all queued events to the database, at the configured interval.
+     * Increments that fail to be written are kept and retried with the next
+     * flush.
+     *
+     * @return the number of events written
+     */
+    @Scheduled(fixedDelayString = "${meals.counters.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        List<Event> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        for (Event event : drained) {
+            pending.get(event.counter()).merge(event.mealId(), 1, Integer::sum);
+        }
+
+        long writtenBefore = written.get();
+        try {
+            for (Counter counter : Counter.values()) {
+                write(counter, pending.get(counter));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Flushing meal counters failed, retrying with the next flush: {}", e.getMessage());
+        }
+        return (int) (written.get() - writtenBefore);
+    }
+
+    /**
+     * Flushes the remaining events before the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Returns the number of queued events and the ingestion counters.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("queued", (long) queue.size());
+        statistics.put("accepted", accepted.get());
+        statistics.put("written", written.get());
+        statistics.put("updates", updates.get());
+        statistics.put("producerFlushes", producerFlushes.get());
+        return statistics;
+    }
+
+    /**
+     * Writes the pending increments of one counter, one bulk update per distinct
+     * increment. Written increments are removed from the pending map.
+     *
+     * @param counter    the counter
+     * @param increments the pending increments by meal id
+     */
+    private void write(Counter counter, Map<Long, Integer> increments) {
+        Map<Integer, List<Long>> idsByDelta = new HashMap<>();
+        increments.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(id));
+
+        for (Map.Entry<Integer, List<Long>> group : idsByDelta.entrySet()) {
+            int delta = group.getKey();
+            List<Long> ids = group.getValue();
+            if (counter == Counter.SAVED) {
+                mealRepository.incrementSavedCounts(ids, delta);
+            } else {
+                mealRepository.incrementCookedCounts(ids, delta);
+            }
+            updates.incrementAndGet();
+            ids.forEach(increments::remove);
+            written.addAndGet((long) delta * ids.size());
+        }
+    }
+}
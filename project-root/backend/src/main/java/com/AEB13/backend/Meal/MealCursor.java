@@ -0,0 +1,84 @@
+package com.AEB13.backend.Meal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a paginated meal listing: the sort order plus the sort
+ * key and id of the last meal returned. The next page starts strictly after
+ * that meal, so pages stay stable while meals are added or deleted.
+ *
+ * @param sort  the sort order the cursor belongs to
+ * @param key   the sort key of the last meal, null when sorting by id
+ * @param id    the id of the last meal
+ */
+public record MealCursor(MealSort sort, String key, long id) {
+
+    /**
+     * Creates the cursor pointing at the given meal.
+     *
+     * @param sort the sort order of the listing
+     * @param meal the last meal of the current page
+     * @return the cursor
+     */
+    public static MealCursor after(MealSort sort, MealSummary meal) {
+        return new MealCursor(sort, sort.keyOf(meal), meal.id());
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = sort.getParameter() + ":" + id + ":" + (key != null ? key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token
+     * @param sort  the sort order of the requested listing
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed or belongs to a
+     *                                  different sort order
+     */
+    public static MealCursor decode(String token, MealSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || MealSort.fromParameter(parts[0]) != sort) {
+                throw new IllegalArgumentException("Cursor does not belong to sort '" + sort.getParameter() + "'.");
+            }
+            String key = sort == MealSort.ID ? null : parts[2];
+            if (sort == MealSort.SAVED_COUNT) {
+                Integer.parseInt(key);
+            }
+            return new MealCursor(sort, key, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * Returns the sort key as a saved count.
+     *
+     * @return the saved count of the last meal
+     */
+    public int savedCount() {
+        return Integer.parseInt(key);
+    }
+
+    /**
+     * Returns whether a meal comes after this cursor in the sort order.
+     *
+     * @param meal the meal
+     * @return true if the meal belongs on a later page
+     */
+    public boolean isBefore(MealSummary meal) {
+        MealSummary last = new MealSummary(id, sort == MealSort.NAME ? key : null, null, null, null, null,
+                sort == MealSort.SAVED_COUNT ? savedCount() : 0, false, false);
+        return sort.getComparator().compare(last, meal) < 0;
+    }
+}
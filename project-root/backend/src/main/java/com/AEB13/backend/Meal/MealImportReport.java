@@ -0,0 +1,33 @@
+package com.AEB13.backend.Meal;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk meal import.
+ *
+ * @param created    the number of meals saved
+ * @param duplicates the number of meals skipped as duplicates
+ * @param invalid    the number of meals that failed validation
+ * @param failed     the number of valid meals that could not be saved
+ * @param results    the outcome of each meal, in import order
+ */
+public record MealImportReport(int created, int duplicates, int invalid, int failed,
+        List<MealImportResult> results) {
+
+    /**
+     * Builds the report by counting the results by status.
+     *
+     * @param results the outcome of each meal, in import order
+     * @return the report
+     */
+    public static MealImportReport of(List<MealImportResult> results) {
+        int[] counts = new int[MealImportResult.Status.values().length];
+        for (MealImportResult result : results) {
+            counts[result.status().ordinal()]++;
+        }
+        return new MealImportReport(counts[MealImportResult.Status.CREATED.ordinal()],
+                counts[MealImportResult.Status.DUPLICATE.ordinal()],
+                counts[MealImportResult.Status.INVALID.ordinal()],
+                counts[MealImportResult.Status.FAILED.ordinal()], results);
+    }
+}
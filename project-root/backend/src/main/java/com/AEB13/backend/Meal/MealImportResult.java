@@ -0,0 +1,27 @@
+package com.AEB13.backend.Meal;
+
+/**
+ * The outcome of importing one meal.
+ *
+ * @param index   the position of the meal in the import, starting at 0
+ * @param name    the name of the meal, if it had one
+ * @param status  what happened to the meal
+ * @param id      the id of the created meal, or null if it was not created
+ * @param message why the meal was not created, or null if it was
+ */
+public record MealImportResult(int index, String name, Status status, Long id, String message) {
+
+    /**
+     * What happened to an imported meal.
+     */
+    public enum Status {
+        /** The meal was saved. */
+        CREATED,
+        /** A meal with the same name already exists or appeared earlier in the import. */
+        DUPLICATE,
+        /** The meal could not be read or failed validation. */
+        INVALID,
+        /** The meal was valid but could not be saved. */
+        FAILED
+    }
+}
@@ -0,0 +1,264 @@
+package com.AEB13.backend.Meal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Service importing many meals at once, e.g. to seed or migrate a database.
+ * <p>
+ * Meals are read one at a time from a JSON array or an NDJSON stream, so the
+ * import is never held in memory as a whole. Valid meals are collected into
+ * batches; each batch is checked against the saved names with one query and
+ * written together with its parsed ingredients in one transaction, which
+ * Hibernate sends as JDBC batches of {@code hibernate.jdbc.batch_size}
+ * inserts. If a batch fails, its meals are retried one by one so that only
+ * the offending meals are reported.
+ * </p>
+ */
+@Service
+public class MealImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealImportService.class);
+
+    /**
+     * The length of the meals table's VARCHAR columns.
+     */
+    private static final int MAX_LENGTH = 255;
+
+    /**
+     * Reads meals from either a JSON array or whitespace-separated JSON objects.
+     */
+    private static final ObjectReader MEAL_READER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(Meal.class);
+
+    /**
+     * Repository for the imported meals.
+     */
+    @Autowired
+    private MealRepository mealRepository;
+
+    /**
+     * In-memory search index the imported meals are added to.
+     */
+    @Autowired
+    private MealSearchIndex mealSearchIndex;
+
+    /**
+     * Parses the ingredients of the imported meals.
+     */
+    @Autowired
+    private MealIngredientService mealIngredientService;
+
+    /**
+     * Repository for the parsed ingredients of the imported meals.
+     */
+    @Autowired
+    private MealIngredientRepository mealIngredientRepository;
+
+    /**
+     * Runs each batch in its own transaction.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of meals written per transaction.
+     */
+    @Value("${meals.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * A valid meal waiting to be written, with its position in the import.
+     */
+    private record Candidate(int index, Meal meal) {
+    }
+
+    /**
+     * Imports the meals of a JSON array or NDJSON stream. Meals without a
+     * name, with over-long fields or negative counts are rejected, and meals
+     * whose name is already saved or appeared earlier in the import are
+     * skipped. Ids in the input are ignored.
+     *
+     * @param body the JSON array or NDJSON stream of meals
+     * @return the outcome of each meal
+     * @throws IOException if the body cannot be read
+     */
+    public MealImportReport importMeals(InputStream body) throws IOException {
+        List<MealImportResult> results = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        List<Candidate> batch = new ArrayList<>();
+
+        try (MappingIterator<Meal> meals = MEAL_READER.readValues(body)) {
+            int index = 0;
+            while (true) {
+                Meal meal;
+                try {
+                    if (!meals.hasNextValue()) {
+                        break;
+                    }
+                    meal = meals.nextValue();
+                } catch (JsonProcessingException e) {
+                    results.add(new MealImportResult(index++, null, MealImportResult.Status.INVALID, null,
+                            e.getOriginalMessage()));
+                    if (e instanceof JsonParseException) {
+                        // The rest of the stream cannot be located after a syntax error
+                        break;
+                    }
+                    continue;
+                }
+
+                String problem = validate(meal);
+                if (problem != null) {
+                    results.add(new MealImportResult(index++, meal.getName(), MealImportResult.Status.INVALID,
+                            null, problem));
+                    continue;
+                }
+                if (!names.add(meal.getName().toLowerCase(Locale.ROOT))) {
+                    results.add(new MealImportResult(index++, meal.getName(), MealImportResult.Status.DUPLICATE,
+                            null, "Duplicate name in the import."));
+                    continue;
+                }
+
+                meal.setId(null);
+                meal.setIngredientsParsed(true);
+                // Reserve the result's position, it is filled in when the batch is written
+                results.add(null);
+                batch.add(new Candidate(index++, meal));
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch, results);
+                    batch.clear();
+                }
+            }
+        }
+        writeBatch(batch, results);
+        return MealImportReport.of(results);
+    }
+
+    /**
+     * Writes a batch of meals, skipping those whose name is already saved.
+     *
+     * @param batch   the meals to write
+     * @param results the results to record the outcome of each meal in
+     */
+    private void writeBatch(List<Candidate> batch, List<MealImportResult> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>();
+        for (String name : mealRepository.findNamesIn(batch.stream().map(c -> c.meal().getName()).toList())) {
+            existing.add(name.toLowerCase(Locale.ROOT));
+        }
+
+        List<Candidate> pending = new ArrayList<>();
+        for (Candidate candidate : batch) {
+            if (existing.contains(candidate.meal().getName().toLowerCase(Locale.ROOT))) {
+                results.set(candidate.index(), new MealImportResult(candidate.index(), candidate.meal().getName(),
+                        MealImportResult.Status.DUPLICATE, null, "A meal with this name already exists."));
+            } else {
+                pending.add(candidate);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(pending.stream().map(Candidate::meal).toList()));
+            pending.forEach(candidate -> created(candidate, results));
+        } catch (RuntimeException e) {
+            logger.warn("Importing a batch of {} meals failed, retrying them one by one: {}", pending.size(),
+                    e.getMessage());
+            for (Candidate candidate : pending) {
+                candidate.meal().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> save(List.of(candidate.meal())));
+                    created(candidate, results);
+                } catch (RuntimeException single) {
+                    results.set(candidate.index(), new MealImportResult(candidate.index(),
+                            candidate.meal().getName(), MealImportResult.Status.FAILED, null,
+                            single.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves meals and their parsed ingredients. Must run in a transaction.
+     *
+     * @param meals the meals to save
+     */
+    private void save(List<Meal> meals) {
+        List<MealIngredient> ingredients = new ArrayList<>();
+        for (Meal meal : mealRepository.saveAll(meals)) {
+            ingredients.addAll(mealIngredientService.parseIngredients(meal));
+        }
+        mealIngredientRepository.saveAll(ingredients);
+    }
+
+    /**
+     * Records a written meal and adds it to the search index.
+     *
+     * @param candidate the written meal
+     * @param results   the results to record the outcome in
+     */
+    private void created(Candidate candidate, List<MealImportResult> results) {
+        Meal meal = candidate.meal();
+        mealSearchIndex.add(meal);
+        results.set(candidate.index(), new MealImportResult(candidate.index(), meal.getName(),
+                MealImportResult.Status.CREATED, meal.getId(), null));
+    }
+
+    /**
+     * Checks that a meal fits the meals table.
+     *
+     * @param meal the meal to check
+     * @return a description of the problem, or null if the meal is valid
+     */
+    private static String validate(Meal meal) {
+        if (meal == null) {
+            return "Expected a meal object.";
+        }
+        if (meal.getName() == null || meal.getName().isBlank()) {
+            return "A meal needs a name.";
+        }
+        if (tooLong(meal.getName()) || tooLong(meal.getThumbnail()) || tooLong(meal.getCategory())
+                || tooLong(meal.getYouTubeVid()) || tooLong(meal.getApiId())) {
+            return "Name, thumbnail, category, youTubeVid and apiId are limited to " + MAX_LENGTH
+                    + " characters.";
+        }
+        if (meal.getSavedCount() < 0 || meal.getCookedCount() < 0) {
+            return "Counts cannot be negative.";
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether a value exceeds the length of a VARCHAR column.
+     *
+     * @param value the value, may be null
+     * @return true if the value is too long
+     */
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_LENGTH;
+    }
+}
@@ -0,0 +1,121 @@
+package com.AEB13.backend.Meal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * One parsed item of a meal's ingredient list.
+ * <p>
+ * The ingredient text of a meal is parsed once when the meal is written, see
+ * {@link IngredientParser}, so that shopping lists can sum the stored
+ * quantities instead of parsing the text on every request.
+ * </p>
+ */
+@Entity
+@Table(name = "meal_ingredients", indexes = @Index(name = "idx_meal_ingredients_meal_id", columnList = "meal_id"))
+public class MealIngredient {
+
+    /**
+     * The unique identifier of this row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meal_ingredients_seq")
+    @SequenceGenerator(name = "meal_ingredients_seq", sequenceName = "meal_ingredients_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The id of the meal this item belongs to.
+     */
+    @Column(name = "meal_id", nullable = false)
+    private Long mealId;
+
+    /**
+     * The position of the item in the meal's ingredient list.
+     */
+    @Column(nullable = false)
+    private int position;
+
+    /**
+     * The name of the ingredient.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String ingredient;
+
+    /**
+     * The numeric quantity, or null if the measure has none.
+     */
+    private Double quantity;
+
+    /**
+     * The normalized unit of the quantity.
+     */
+    private String unit;
+
+    /**
+     * The note after the quantity, or the whole measure if there is no quantity.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String note;
+
+    public MealIngredient() {
+    }
+
+    /**
+     * Creates the row for a parsed item of a meal's ingredient list.
+     *
+     * @param mealId   the id of the meal
+     * @param position the position of the item in the list
+     * @param parsed   the parsed item
+     */
+    public MealIngredient(Long mealId, int position, ParsedIngredient parsed) {
+        this.mealId = mealId;
+        this.position = position;
+        this.ingredient = parsed.ingredient();
+        this.quantity = parsed.quantity();
+        this.unit = parsed.unit();
+        this.note = parsed.note();
+    }
+
+    /**
+     * Returns the parsed item this row stores.
+     *
+     * @return the parsed item
+     */
+    public ParsedIngredient toParsed() {
+        return new ParsedIngredient(ingredient, quantity, unit, note);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getMealId() {
+        return mealId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public String getIngredient() {
+        return ingredient;
+    }
+
+    public Double getQuantity() {
+        return quantity;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public String getNote() {
+        return note;
+    }
+}
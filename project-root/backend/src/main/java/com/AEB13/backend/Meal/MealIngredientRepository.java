@@ -0,0 +1,45 @@
+package com.AEB13.backend.Meal;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for managing {@link MealIngredient} entities.
+ */
+@Repository
+public interface MealIngredientRepository extends CrudRepository<MealIngredient, Long> {
+
+    /**
+     * Retrieves the parsed ingredients of a meal.
+     *
+     * @param mealId the id of the meal
+     * @return the meal's ingredients in list order
+     */
+    List<MealIngredient> findByMealIdOrderByPosition(Long mealId);
+
+    /**
+     * Retrieves the parsed ingredients of several meals with one query.
+     *
+     * @param mealIds the ids of the meals
+     * @return the ingredients, grouped by meal and in list order within a meal
+     */
+    List<MealIngredient> findByMealIdInOrderByMealIdAscPositionAsc(Collection<Long> mealIds);
+
+    /**
+     * Deletes the parsed ingredients of a meal.
+     *
+     * @param mealId the id of the meal
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MealIngredient i WHERE i.mealId = :mealId")
+    int deleteByMealId(@Param("mealId") Long mealId);
+}
@@ -0,0 +1,200 @@
+package com.AEB13.backend.Meal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service that stores the parsed ingredients of meals and reads them back.
+ * <p>
+ * Ingredients are parsed when a meal is written. Meals saved before parsed
+ * ingredients existed are migrated once at startup; until then their
+ * ingredient text is parsed on demand.
+ * </p>
+ */
+@Service
+public class MealIngredientService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealIngredientService.class);
+
+    /**
+     * Repository for the meals whose ingredients are parsed.
+     */
+    @Autowired
+    private MealRepository mealRepository;
+
+    /**
+     * Repository for the parsed ingredients.
+     */
+    @Autowired
+    private MealIngredientRepository mealIngredientRepository;
+
+    /**
+     * Runs each claim together with the inserts it guards.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of meals migrated per transaction.
+     */
+    @Value("${meals.ingredients.migration-batch-size:200}")
+    private int migrationBatchSize;
+
+    /**
+     * Parses and stores the ingredients of a saved meal, unless they have been
+     * stored already.
+     *
+     * @param meal the saved meal
+     * @return true if the ingredients were stored by this call
+     */
+    public boolean storeIngredients(Meal meal) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> claimAndStore(meal)));
+    }
+
+    /**
+     * Builds the parsed ingredient rows of a meal without storing them. Used by
+     * writers that save the rows together with the meal, which must then be
+     * saved as {@link Meal#isIngredientsParsed() parsed}.
+     *
+     * @param meal the meal, with its id assigned
+     * @return the rows to save
+     */
+    public List<MealIngredient> parseIngredients(Meal meal) {
+        return rowsFor(meal);
+    }
+
+    /**
+     * Returns the parsed ingredients of a meal, parsing its ingredient text if
+     * the meal has not been migrated yet.
+     *
+     * @param meal the meal
+     * @return the parsed ingredients in list order
+     */
+    public List<ParsedIngredient> getIngredients(Meal meal) {
+        if (!meal.isIngredientsParsed()) {
+            return IngredientParser.parse(meal.getIngredients());
+        }
+        return mealIngredientRepository.findByMealIdOrderByPosition(meal.getId()).stream()
+                .map(MealIngredient::toParsed)
+                .toList();
+    }
+
+    /**
+     * Returns the parsed ingredients of several meals with at most two queries,
+     * parsing the ingredient text of meals that have not been migrated yet.
+     *
+     * @param mealIds the ids of the meals
+     * @return the parsed ingredients by meal id; meals that do not exist are
+     *         missing from the map
+     */
+    public Map<Long, List<ParsedIngredient>> getIngredients(Collection<Long> mealIds) {
+        Map<Long, List<ParsedIngredient>> ingredients = new HashMap<>();
+        if (mealIds.isEmpty()) {
+            return ingredients;
+        }
+        List<Long> parsedIds = new ArrayList<>();
+        for (MealIngredientText meal : mealRepository.findIngredientTextsByIdIn(mealIds)) {
+            if (meal.ingredientsParsed()) {
+                parsedIds.add(meal.id());
+                ingredients.put(meal.id(), new ArrayList<>());
+            } else {
+                ingredients.put(meal.id(), IngredientParser.parse(meal.ingredients()));
+            }
+        }
+        if (!parsedIds.isEmpty()) {
+            for (MealIngredient row : mealIngredientRepository.findByMealIdInOrderByMealIdAscPositionAsc(parsedIds)) {
+                ingredients.get(row.getMealId()).add(row.toParsed());
+            }
+        }
+        return ingredients;
+    }
+
+    /**
+     * Deletes the parsed ingredients of a meal.
+     *
+     * @param mealId the id of the meal
+     */
+    public void deleteIngredients(Long mealId) {
+        mealIngredientRepository.deleteByMealId(mealId);
+    }
+
+    /**
+     * Parses the ingredients of all meals that have not been parsed yet, in
+     * batches of one transaction each. A failed batch is logged and skipped;
+     * its meals are parsed on demand until the next startup.
+     *
+     * @return the number of meals migrated
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int migrate() {
+        int migrated = 0;
+        long afterId = 0;
+        List<Meal> meals;
+        while (!(meals = mealRepository.findWithUnparsedIngredients(afterId,
+                PageRequest.ofSize(migrationBatchSize))).isEmpty()) {
+            afterId = meals.get(meals.size() - 1).getId();
+            List<Meal> batch = meals;
+            try {
+                Integer stored = transactionTemplate.execute(status -> {
+                    int count = 0;
+                    for (Meal meal : batch) {
+                        if (claimAndStore(meal)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+                migrated += stored != null ? stored : 0;
+            } catch (RuntimeException e) {
+                logger.warn("Parsing the ingredients of meals up to id {} failed: {}", afterId, e.getMessage());
+            }
+        }
+        if (migrated > 0) {
+            logger.info("Parsed the ingredients of {} existing meals", migrated);
+        }
+        return migrated;
+    }
+
+    /**
+     * Claims a meal for parsing and stores its rows. Must run in a transaction,
+     * so that the claim is undone if the rows cannot be stored.
+     *
+     * @param meal the meal
+     * @return true if the meal was claimed and its rows stored
+     */
+    private boolean claimAndStore(Meal meal) {
+        if (mealRepository.claimIngredientParsing(meal.getId()) == 0) {
+            return false;
+        }
+        mealIngredientRepository.saveAll(rowsFor(meal));
+        return true;
+    }
+
+    /**
+     * Parses a meal's ingredient text into rows.
+     *
+     * @param meal the meal
+     * @return one row per parsed item
+     */
+    private static List<MealIngredient> rowsFor(Meal meal) {
+        List<MealIngredient> rows = new ArrayList<>();
+        List<ParsedIngredient> parsed = IngredientParser.parse(meal.getIngredients());
+        for (int i = 0; i < parsed.size(); i++) {
+            rows.add(new MealIngredient(meal.getId(), i, parsed.get(i)));
+        }
+        return rows;
+    }
+}
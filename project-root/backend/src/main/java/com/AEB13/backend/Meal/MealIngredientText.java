@@ -0,0 +1,17 @@
+package com.AEB13.backend.Meal;
+
+/**
+ * The ingredient text of a meal as needed to read its parsed ingredients.
+ * <p>
+ * Selected by a projection query, so the text is only transferred for meals
+ * whose ingredients have not been parsed yet; for all others the parsed rows
+ * are read instead.
+ * </p>
+ *
+ * @param id                the id of the meal
+ * @param ingredientsParsed whether the meal's ingredients are stored parsed
+ * @param ingredients       the ingredient text, null if the ingredients are
+ *                          stored parsed
+ */
+public record MealIngredientText(Long id, boolean ingredientsParsed, String ingredients) {
+}
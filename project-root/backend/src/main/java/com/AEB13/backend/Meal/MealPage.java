@@ -0,0 +1,32 @@
+package com.AEB13.backend.Meal;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a meal listing.
+ *
+ * @param <T>        the type of the listed items
+ * @param items      the items on this page
+ * @param nextCursor the cursor for the next page, or null if this is the last
+ *                   page
+ */
+public record MealPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from up to {@code size + 1} fetched items; the extra item
+     * only signals that another page exists.
+     *
+     * @param fetched the items fetched for this page, plus at most one more
+     * @param size    the page size
+     * @param cursor  creates the cursor pointing at an item
+     * @return the page
+     */
+    public static <T> MealPage<T> of(List<T> fetched, int size, Function<T, MealCursor> cursor) {
+        if (fetched.size() <= size) {
+            return new MealPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new MealPage<>(List.copyOf(items), cursor.apply(items.get(size - 1)).encode());
+    }
+}
@@ -1,10 +1,15 @@
 package com.AEB13.backend.Meal;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for managing {@link Meal} entities.
@@ -13,7 +18,32 @@ import org.springframework.stereotype.Repository;
  * </p>
  */
 @Repository
-public interface MealRepository extends CrudRepository<Meal, Long> {
+public interface MealRepository extends CrudRepository<Meal, Long>, MealRepositoryCustom {
+
+    /**
+     * JPQL constructor expression selecting a {@link MealSummary} from a meal
+     * aliased {@code m}.
+     */
+    String SUMMARY = "new com.AEB13.backend.Meal.MealSummary(m.id, m.name, m.thumbnail, m.category, "
+            + "m.youTubeVid, m.apiId, m.savedCount, m.favorite, m.isCustom)";
+
+    /**
+     * Retrieves the summaries of all meals, without their ingredients and
+     * instructions.
+     *
+     * @return the meal summaries ordered by id
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m ORDER BY m.id")
+    List<MealSummary> findAllSummaries();
+
+    /**
+     * Retrieves the summaries of several meals in a single query.
+     *
+     * @param ids the IDs of the meals
+     * @return the summaries of the meals that exist, in no particular order
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m WHERE m.id IN :ids")
+    List<MealSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Retrieves all Meal records from the database.
@@ -38,7 +68,107 @@ public interface MealRepository extends CrudRepository<Meal, Long> {
     List<Meal> findTop5ByOrderBySavedCountDesc();
 
     /**
-     * Finds a meal by its name.
+     * Inserts a meal, or increments the saved count of the meal with the same
+     * name if there is one, in a single statement. The unique index on the name
+     * column makes this atomic, so concurrent saves of the same meal never
+     * create duplicate rows. The id is taken from meals_seq directly; it is the
+     * last id of a block Hibernate never allocates from, so it cannot collide
+     * with ids assigned by Hibernate.
+     *
+     * @param meal the meal to insert; its id, counts and flags are ignored
+     * @return the number of affected rows
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO meals (id, name, ingredients, instructions, thumbnail, category, you_tube_vid, "
+            + "api_id, saved_count, cooked_count, favorite, is_custom) "
+            + "VALUES (NEXT VALUE FOR meals_seq, :#{#meal.name}, :#{#meal.ingredients}, :#{#meal.instructions}, :#{#meal.thumbnail}, "
+            + ":#{#meal.category}, :#{#meal.youTubeVid}, :#{#meal.apiId}, 1, 0, FALSE, FALSE) "
+            + "ON DUPLICATE KEY UPDATE saved_count = saved_count + 1", nativeQuery = true)
+    int upsertSaved(@Param("meal") Meal meal);
+
+    /**
+     * Flips the favorite flag of the given meals in the database, without
+     * loading them.
+     *
+     * @param ids the ids of the meals
+     * @return the number of meals updated
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Meal m SET m.favorite = CASE WHEN m.favorite = true THEN false ELSE true END WHERE m.id IN :ids")
+    int toggleFavorites(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Adds to the saved count of the given meals in the database, without
+     * loading them.
+     *
+     * @param ids   the ids of the meals
+     * @param delta the amount to add
+     * @return the number of meals updated
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Meal m SET m.savedCount = m.savedCount + :delta WHERE m.id IN :ids")
+    int incrementSavedCounts(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    /**
+     * Adds to the cooked count of the given meals in the database, without
+     * loading them.
+     *
+     * @param ids   the ids of the meals
+     * @param delta the amount to add
+     * @return the number of meals updated
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Meal m SET m.cookedCount = m.cookedCount + :delta WHERE m.id IN :ids")
+    int incrementCookedCounts(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    /**
+     * Marks a meal's ingredients as parsed, unless they already are.
+     *
+     * @param id the id of the meal
+     * @return 1 if the caller claimed the meal and must store its ingredients,
+     *         0 if they are already stored or the meal does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Meal m SET m.ingredientsParsed = true WHERE m.id = :id AND m.ingredientsParsed = false")
+    int claimIngredientParsing(@Param("id") Long id);
+
+    /**
+     * Retrieves the next meals whose ingredients have not been parsed yet.
+     *
+     * @param afterId  only return meals with a greater id
+     * @param pageable limits the number of meals returned
+     * @return the meals in id order
+     */
+    @Query("SELECT m FROM Meal m WHERE m.ingredientsParsed = false AND m.id > :afterId ORDER BY m.id")
+    List<Meal> findWithUnparsedIngredients(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves what is needed to read the parsed ingredients of several meals,
+     * with the ingredient text only for meals that have not been parsed yet.
+     *
+     * @param ids the ids of the meals
+     * @return one entry per existing meal, in no particular order
+     */
+    @Query("SELECT new com.AEB13.backend.Meal.MealIngredientText(m.id, m.ingredientsParsed, "
+            + "CASE WHEN m.ingredientsParsed = false THEN m.ingredients END) FROM Meal m WHERE m.id IN :ids")
+    List<MealIngredientText> findIngredientTextsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds which of the given names are already taken by saved meals.
+     *
+     * @param names the names to look up
+     * @return the names of the saved meals among them
+     */
+    @Query("SELECT m.name FROM Meal m WHERE m.name IN :names")
+    List<String> findNamesIn(@Param("names") Collection<String> names);
+
+    /**
+     * Finds a meal by its name, using the unique index on the name column.
      *
      * @param name the name of the meal
      * @return the Meal object if found, otherwise null
@@ -62,6 +192,69 @@ public interface MealRepository extends CrudRepository<Meal, Long> {
     @Query("SELECT m.category, COUNT(m) FROM Meal m WHERE m.savedCount > 0 GROUP BY m.category")
     List<Object[]> countMealsByCategory();
 
+    /**
+     * Retrieves the first meals ordered by id.
+     *
+     * @param pageable limits the number of meals returned
+     * @return up to one page of meal summaries
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m ORDER BY m.id")
+    List<MealSummary> findFirstPageById(Pageable pageable);
+
+    /**
+     * Retrieves the meals following the given id, ordered by id.
+     *
+     * @param afterId  the id of the last meal of the previous page
+     * @param pageable limits the number of meals returned
+     * @return up to one page of meal summaries
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m WHERE m.id > :afterId ORDER BY m.id")
+    List<MealSummary> findPageById(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the first meals ordered by name.
+     *
+     * @param pageable limits the number of meals returned
+     * @return up to one page of meal summaries
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m ORDER BY m.name, m.id")
+    List<MealSummary> findFirstPageByName(Pageable pageable);
+
+    /**
+     * Retrieves the meals following the given name and id, ordered by name.
+     *
+     * @param name     the name of the last meal of the previous page
+     * @param afterId  the id of the last meal of the previous page
+     * @param pageable limits the number of meals returned
+     * @return up to one page of meal summaries
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m "
+            + "WHERE m.name > :name OR (m.name = :name AND m.id > :afterId) ORDER BY m.name, m.id")
+    List<MealSummary> findPageByName(@Param("name") String name, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the most saved meals.
+     *
+     * @param pageable limits the number of meals returned
+     * @return up to one page of meal summaries
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m ORDER BY m.savedCount DESC, m.id")
+    List<MealSummary> findFirstPageBySavedCount(Pageable pageable);
+
+    /**
+     * Retrieves the meals following the given saved count and id, most saved
+     * first.
+     *
+     * @param savedCount the saved count of the last meal of the previous page
+     * @param afterId    the id of the last meal of the previous page
+     * @param pageable   limits the number of meals returned
+     * @return up to one page of meal summaries
+     */
+    @Query("SELECT " + SUMMARY + " FROM Meal m WHERE m.savedCount < :savedCount "
+            + "OR (m.savedCount = :savedCount AND m.id > :afterId) ORDER BY m.savedCount DESC, m.id")
+    List<MealSummary> findPageBySavedCount(@Param("savedCount") int savedCount, @Param("afterId") long afterId,
+            Pageable pageable);
+
     /**
      * 
      * @param name the name of the meal
@@ -0,0 +1,27 @@
+package com.AEB13.backend.Meal;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom queries of {@link MealRepository} whose conditions depend on which
+ * filters a request uses.
+ */
+public interface MealRepositoryCustom {
+
+    /**
+     * Retrieves the summaries of the meals matching the given filters. Only the
+     * filters that are set become conditions of the query, so each of them can
+     * be answered from its index.
+     *
+     * @param ids        only return meals with these ids (optional)
+     * @param category   only return meals in this category (optional)
+     * @param favorite   only return meals with this favorite flag (optional)
+     * @param custom     only return meals with this custom flag (optional)
+     * @param maxResults the maximum number of summaries returned, or
+     *                   {@link Integer#MAX_VALUE} for all of them
+     * @return the matching meal summaries ordered by name
+     */
+    List<MealSummary> findSummaries(Collection<Long> ids, String category, Boolean favorite, Boolean custom,
+            int maxResults);
+}
@@ -0,0 +1,59 @@
+package com.AEB13.backend.Meal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementation of {@link MealRepositoryCustom} using the Criteria API.
+ */
+public class MealRepositoryCustomImpl implements MealRepositoryCustom {
+
+    /**
+     * The entity manager the queries are created with.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MealSummary> findSummaries(Collection<Long> ids, String category, Boolean favorite,
+            Boolean custom, int maxResults) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MealSummary> query = builder.createQuery(MealSummary.class);
+        Root<Meal> meal = query.from(Meal.class);
+
+        List<Predicate> conditions = new ArrayList<>();
+        if (ids != null) {
+            conditions.add(meal.get("id").in(ids));
+        }
+        if (category != null) {
+            conditions.add(builder.equal(meal.get("category"), category));
+        }
+        if (favorite != null) {
+            conditions.add(builder.equal(meal.get("favorite"), favorite));
+        }
+        if (custom != null) {
+            conditions.add(builder.equal(meal.get("isCustom"), custom));
+        }
+
+        query.select(builder.construct(MealSummary.class, meal.get("id"), meal.get("name"),
+                meal.get("thumbnail"), meal.get("category"), meal.get("youTubeVid"), meal.get("apiId"),
+                meal.get("savedCount"), meal.get("favorite"), meal.get("isCustom")))
+                .where(conditions.toArray(new Predicate[0]))
+                .orderBy(builder.asc(meal.get("name")));
+
+        TypedQuery<MealSummary> typedQuery = entityManager.createQuery(query);
+        if (maxResults < Integer.MAX_VALUE) {
+            typedQuery.setMaxResults(maxResults);
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -0,0 +1,422 @@
+package com.AEB13.backend.Meal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory full-text index over the locally saved meals.
+ * <p>
+ * Meal names, categories and ingredient names are split into lower-case
+ * terms. Each term maps to the meals containing it, and each trigram maps to
+ * the terms containing it, so a query term is matched against the vocabulary
+ * exactly, by prefix, or fuzzily by trigram similarity without scanning any
+ * meals. Matches are ranked by similarity weighted by the field they occur
+ * in (name over category over ingredients); every query term must match.
+ * </p>
+ * <p>
+ * The index is built once the application has started and is kept up to date
+ * by {@link MealService} as meals are added or deleted.
+ * </p>
+ */
+@Component
+public class MealSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealSearchIndex.class);
+
+    /**
+     * Field flag and weight for terms in the meal name.
+     */
+    private static final int NAME = 4;
+
+    /**
+     * Field flag and weight for terms in the meal category.
+     */
+    private static final int CATEGORY = 2;
+
+    /**
+     * Field flag and weight for terms in the ingredient names.
+     */
+    private static final int INGREDIENTS = 1;
+
+    /**
+     * Minimum trigram similarity (Dice coefficient) for a fuzzy term match.
+     */
+    private static final double MIN_SIMILARITY = 0.5;
+
+    /**
+     * Similarity assigned to a vocabulary term that starts with the query term.
+     */
+    private static final double PREFIX_SIMILARITY = 0.9;
+
+    /**
+     * The indexed terms of a meal, kept so the meal can be removed again.
+     */
+    private record Document(Map<String, Integer> terms, String category) {
+    }
+
+    /**
+     * Repository used to build the index on startup.
+     */
+    @Autowired
+    private MealRepository mealRepository;
+
+    /**
+     * Indexed meals by id.
+     */
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    /**
+     * For each term, the meals containing it and the fields (as flags) it
+     * occurs in.
+     */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    /**
+     * For each trigram, the vocabulary terms containing it.
+     */
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    /**
+     * For each vocabulary term, the number of distinct trigrams it has.
+     */
+    private final Map<String, Integer> trigramCounts = new HashMap<>();
+
+    /**
+     * For each lower-case category, the meals in it.
+     */
+    private final Map<String, Set<Long>> categories = new HashMap<>();
+
+    /**
+     * Guards all index structures; searches share the read lock.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Rebuilds the index from all meals in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Meal> meals = mealRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            trigrams.clear();
+            trigramCounts.clear();
+            categories.clear();
+            meals.forEach(this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Meal search index built with {} meals and {} terms", meals.size(), postings.size());
+    }
+
+    /**
+     * Adds a meal to the index, replacing any previous entry for its id.
+     *
+     * @param meal the persisted meal
+     */
+    public void add(Meal meal) {
+        lock.writeLock().lock();
+        try {
+            addUnlocked(meal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a meal from the index.
+     *
+     * @param id the id of the meal
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query    the search text; every term in it must match a meal
+     * @param category only return meals in this category (optional,
+     *                 case-insensitive)
+     * @param limit    the maximum number of results
+     * @return the ids of the matching meals, best match first
+     */
+    public List<Long> search(String query, String category, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+
+        lock.readLock().lock();
+        try {
+            Set<Long> allowed = null;
+            if (category != null) {
+                allowed = categories.getOrDefault(category.toLowerCase(Locale.ROOT), Collections.emptySet());
+            }
+
+            if (queryTerms.isEmpty()) {
+                if (allowed == null) {
+                    return Collections.emptyList();
+                }
+                return allowed.stream().sorted().limit(limit).toList();
+            }
+
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = scoreTerm(queryTerm, allowed);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> combined = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double termScore = termScores.get(entry.getKey());
+                        if (termScore != null) {
+                            combined.put(entry.getKey(), entry.getValue() + termScore);
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed meals.
+     *
+     * @return the index size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every meal matching a single query term, taking the best matching
+     * vocabulary term per meal.
+     *
+     * @param queryTerm the query term
+     * @param allowed   the meals that may match, or null for all
+     * @return the best score per matching meal
+     */
+    private Map<Long, Double> scoreTerm(String queryTerm, Set<Long> allowed) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Double> match : matchTerms(queryTerm).entrySet()) {
+            double similarity = match.getValue();
+            for (Map.Entry<Long, Integer> posting : postings.get(match.getKey()).entrySet()) {
+                if (allowed != null && !allowed.contains(posting.getKey())) {
+                    continue;
+                }
+                double score = similarity * posting.getValue();
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Finds the vocabulary terms matching a query term, with their similarity.
+     *
+     * @param queryTerm the query term
+     * @return the matching terms and their similarity in (0, 1]
+     */
+    private Map<String, Double> matchTerms(String queryTerm) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.containsKey(queryTerm)) {
+            matches.put(queryTerm, 1.0);
+        }
+
+        Set<String> queryTrigrams = trigramsOf(queryTerm);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (String term : trigrams.getOrDefault(trigram, Collections.emptySet())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String term = candidate.getKey();
+            if (term.equals(queryTerm)) {
+                continue;
+            }
+            double similarity = 2.0 * candidate.getValue() / (queryTrigrams.size() + trigramCounts.get(term));
+            if (queryTerm.length() >= 2 && term.startsWith(queryTerm)) {
+                similarity = Math.max(similarity, PREFIX_SIMILARITY);
+            }
+            if (similarity >= MIN_SIMILARITY) {
+                matches.put(term, similarity);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Adds a meal without taking the lock.
+     *
+     * @param meal the persisted meal
+     */
+    private void addUnlocked(Meal meal) {
+        if (meal.getId() == null) {
+            return;
+        }
+        removeUnlocked(meal.getId());
+
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(meal.getName()).forEach(term -> terms.merge(term, NAME, (a, b) -> a | b));
+        tokenize(meal.getCategory()).forEach(term -> terms.merge(term, CATEGORY, (a, b) -> a | b));
+        tokenize(ingredientNames(meal.getIngredients()))
+                .forEach(term -> terms.merge(term, INGREDIENTS, (a, b) -> a | b));
+
+        String category = meal.getCategory() != null ? meal.getCategory().toLowerCase(Locale.ROOT) : null;
+        documents.put(meal.getId(), new Document(terms, category));
+
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            Map<Long, Integer> termPostings = postings.get(term.getKey());
+            if (termPostings == null) {
+                termPostings = new HashMap<>();
+                postings.put(term.getKey(), termPostings);
+                Set<String> termTrigrams = trigramsOf(term.getKey());
+                trigramCounts.put(term.getKey(), termTrigrams.size());
+                for (String trigram : termTrigrams) {
+                    trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(term.getKey());
+                }
+            }
+            // The field flags double as weights, so a term in several fields scores their sum
+            termPostings.put(meal.getId(), term.getValue());
+        }
+        if (category != null) {
+            categories.computeIfAbsent(category, key -> new HashSet<>()).add(meal.getId());
+        }
+    }
+
+    /**
+     * Removes a meal without taking the lock, dropping terms and categories no
+     * longer used by any meal.
+     *
+     * @param id the id of the meal
+     */
+    private void removeUnlocked(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms().keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                trigramCounts.remove(term);
+                for (String trigram : trigramsOf(term)) {
+                    Set<String> terms = trigrams.get(trigram);
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        trigrams.remove(trigram);
+                    }
+                }
+            }
+        }
+        if (document.category() != null) {
+            Set<Long> ids = categories.get(document.category());
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                categories.remove(document.category());
+            }
+        }
+    }
+
+    /**
+     * Extracts the ingredient names from the "ingredient - measure, ..." format,
+     * leaving out the measures.
+     *
+     * @param ingredients the raw ingredient string
+     * @return the ingredient names separated by spaces
+     */
+    static String ingredientNames(String ingredients) {
+        if (ingredients == null) {
+            return "";
+        }
+        StringBuilder names = new StringBuilder();
+        for (String item : ingredients.split(",")) {
+            int separator = item.indexOf(" - ");
+            names.append(separator >= 0 ? item.substring(0, separator) : item).append(' ');
+        }
+        return names.toString();
+    }
+
+    /**
+     * Splits text into lower-case terms of letters and digits.
+     *
+     * @param text the text to split (may be null)
+     * @return the terms in order of occurrence
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (term.length() > 0) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (term.length() > 0) {
+            terms.add(term.toString());
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the trigrams of a term padded with a boundary marker on both
+     * sides, so that "pie" yields "$pi", "pie" and "ie$".
+     *
+     * @param term the term
+     * @return the term's trigrams
+     */
+    static Set<String> trigramsOf(String term) {
+        String padded = "$" + term + "$";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
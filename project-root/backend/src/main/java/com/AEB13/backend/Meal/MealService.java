@@ -1,16 +1,25 @@
 package com.AEB13.backend.Meal;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.AEB13.backend.Catalog.CatalogMirrorService;
+import com.AEB13.backend.MealDB.MealDBClient;
+import com.AEB13.backend.MealDB.MealDBResponseParser;
+import com.AEB13.backend.MealDB.MealDBSummary;
 
 /**
  * Service class for handling business logic related to {@link Meal} operations.
@@ -18,6 +27,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Service
 public class MealService {
 
+    /**
+     * Largest number of search candidates whose flags are checked with one
+     * query, which bounds the query's IN list.
+     */
+    private static final int CANDIDATE_CHUNK_SIZE = 1000;
+
     /**
      * Repository for executing CRUD operations on Meal entities.
      */
@@ -25,31 +40,78 @@ public class MealService {
     private MealRepository mealRepository;
 
     /**
-     * Base URL for TheMealDB API, injected from application properties.
+     * In-memory search index over the saved meals, updated on every add and
+     * delete.
      */
-    @Value("${themealdb.api.url}")
-    private String apiUrl;
+    @Autowired
+    private MealSearchIndex mealSearchIndex;
 
     /**
-     * Default thumbnail image URL to use if none is provided.
+     * Publishes {@link MealChangedEvent}s for updated and deleted meals.
      */
-    private static final String DEAFULT_TUMBNAIL_URL = "https://png.pngtree.com/png-clipart/20191120/original/pngtree-meal-icon-vectors-png-image_5053746.jpg";
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Stores the parsed ingredients of added meals.
+     */
+    @Autowired
+    private MealIngredientService mealIngredientService;
 
     /**
-     * A RestTemplate instance for making external API calls.
+     * Maximum number of local meals returned by a free-text search.
      */
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${meals.search.max-results:100}")
+    private int maxSearchResults;
 
     /**
-     * Searches for a meal by name using TheMealDB API.
+     * Page size used when none is requested.
+     */
+    @Value("${meals.page.default-size:20}")
+    private int defaultPageSize;
+
+    /**
+     * Largest page size a client may request.
+     */
+    @Value("${meals.page.max-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Caching client for TheMealDB API.
+     */
+    @Autowired
+    private MealDBClient mealDBClient;
+
+    /**
+     * Streaming parser for TheMealDB responses.
+     */
+    @Autowired
+    private MealDBResponseParser mealDBResponseParser;
+
+    /**
+     * Local mirror of TheMealDB's catalog, used instead of the API once loaded.
+     */
+    @Autowired
+    private CatalogMirrorService catalogMirrorService;
+
+    /**
+     * Default thumbnail image URL to use if none is provided.
+     */
+    private static final String DEAFULT_TUMBNAIL_URL = "https://png.pngtree.com/png-clipart/20191120/original/pngtree-meal-icon-vectors-png-image_5053746.jpg";
+
+    /**
+     * Searches for a meal by name using TheMealDB API, or its local mirror once
+     * it has been loaded.
      *
      * @param name the name of the meal to search
      * @return a map containing the JSON response from TheMealDB API
      */
     public List<Meal> searchMealByName(String name) {
-        String url = String.format("%s/search.php?s=%s", apiUrl, name);
+        if (catalogMirrorService.isReady()) {
+            return catalogMirrorService.searchMealsByName(name);
+        }
         try {
-            String response = restTemplate.getForObject(url, String.class);
+            String response = mealDBClient.get("/search.php?s=" + name);
             return parseMealDBResponse(response);
         } catch (Exception e) {
             e.printStackTrace();
@@ -57,22 +119,41 @@ public class MealService {
         }
     }
 
+    /**
+     * Filters TheMealDB meals by category or, if no category is given, by area.
+     * Answers from the local catalog mirror once it has been loaded.
+     *
+     * @param category the category to filter by (optional)
+     * @param area     the area to filter by (optional)
+     * @return the matching meals with id, name and thumbnail
+     */
+    public List<Meal> filterMealDBMeals(String category, String area) {
+        if (catalogMirrorService.isReady()) {
+            return catalogMirrorService.findMeals(category, area);
+        }
+        String filterEndpoint = (category != null)
+                ? "/filter.php?c=" + category
+                : "/filter.php?a=" + area;
+        return parseMealDBResponse(mealDBClient.get(filterEndpoint));
+    }
+
     /**
      * Adds a meal to the database or increments the saved count if it already
-     * exists.
+     * exists. Both cases are handled by a single upsert statement, so
+     * concurrent saves of the same meal are counted without duplicate rows.
+     * The ingredients of a new meal are parsed and stored once.
      *
      * @param meal the Meal object to be added or updated
      * @return the persisted Meal object
      */
     public Meal addMeal(Meal meal) {
-        // Check if a meal with the same name already exists
-        Meal existingMeal = mealRepository.findByName(meal.getName());
-        if (existingMeal != null) {
-            throw new RuntimeException("Meal with name '" + meal.getName() + "' already exists.");
+        mealRepository.upsertSaved(meal);
+        Meal savedMeal = mealRepository.findByName(meal.getName());
+        if (!savedMeal.isIngredientsParsed() && mealIngredientService.storeIngredients(savedMeal)) {
+            savedMeal.setIngredientsParsed(true);
         }
-
-        meal.setSavedCount(1); // Initialize saved count for a new meal
-        return mealRepository.save(meal);
+        mealSearchIndex.add(savedMeal);
+        return savedMeal;
     }
 
     /**
@@ -95,16 +176,82 @@ public class MealService {
 
         meal.setSavedCount(1);
         meal.setCustom(true);
-        return mealRepository.save(meal);
+        Meal savedMeal;
+        try {
+            savedMeal = mealRepository.save(meal);
+        } catch (DataIntegrityViolationException e) {
+            // Another request saved a meal with this name since the check above
+            throw new RuntimeException("A meal with the same name already exists.");
+        }
+        if (mealIngredientService.storeIngredients(savedMeal)) {
+            savedMeal.setIngredientsParsed(true);
+        }
+        mealSearchIndex.add(savedMeal);
+        return savedMeal;
+    }
+
+    /**
+     * Retrieves the summaries of all meals in the local database.
+     *
+     * @return the meal summaries ordered by id
+     */
+    public List<MealSummary> getAllMealSummaries() {
+        return mealRepository.findAllSummaries();
     }
 
     /**
-     * Retrieves all meals from the local database.
+     * Retrieves one page of the saved meals using keyset pagination, so only
+     * the requested page is read from the database.
      *
-     * @return a list of all Meal entities
+     * @param sort   the order of the listing
+     * @param cursor the cursor returned with the previous page, or null for the
+     *               first page
+     * @param limit  the requested page size (optional), capped at the configured
+     *               maximum
+     * @return the page of meal summaries and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is invalid
      */
-    public List<Meal> getAllMeals() {
-        return mealRepository.findAll();
+    public MealPage<MealSummary> getMealPage(MealSort sort, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        // Fetch one extra meal to find out whether there is a next page
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        MealCursor after = cursor != null ? MealCursor.decode(cursor, sort) : null;
+
+        List<MealSummary> meals = switch (sort) {
+            case ID -> after == null
+                    ? mealRepository.findFirstPageById(pageable)
+                    : mealRepository.findPageById(after.id(), pageable);
+            case NAME -> after == null
+                    ? mealRepository.findFirstPageByName(pageable)
+                    : mealRepository.findPageByName(after.key(), after.id(), pageable);
+            case SAVED_COUNT -> after == null
+                    ? mealRepository.findFirstPageBySavedCount(pageable)
+                    : mealRepository.findPageBySavedCount(after.savedCount(), after.id(), pageable);
+        };
+        return MealPage.of(meals, size, meal -> MealCursor.after(sort, meal));
+    }
+
+    /**
+     * Paginates an already assembled list of meals, such as search results.
+     *
+     * @param meals  the meals to paginate
+     * @param sort   the order of the listing
+     * @param cursor the cursor returned with the previous page, or null for the
+     *               first page
+     * @param limit  the requested page size (optional), capped at the configured
+     *               maximum
+     * @return the page of meal summaries and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public MealPage<MealSummary> paginate(List<MealSummary> meals, MealSort sort, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        MealCursor after = cursor != null ? MealCursor.decode(cursor, sort) : null;
+        List<MealSummary> page = meals.stream()
+                .filter(meal -> after == null || after.isBefore(meal))
+                .sorted(sort.getComparator())
+                .limit(size + 1L)
+                .toList();
+        return MealPage.of(page, size, meal -> MealCursor.after(sort, meal));
     }
 
     /**
@@ -116,22 +263,95 @@ public class MealService {
     public void deleteById(Long id) {
         Meal meal = mealRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Meal not found"));
+        mealIngredientService.deleteIngredients(id);
         mealRepository.delete(meal);
+        mealSearchIndex.remove(id);
+        eventPublisher.publishEvent(new MealChangedEvent(id));
     }
 
+    /**
+     * Flips the favorite flag of a meal with a single update statement.
+     *
+     * @param id the ID of the meal
+     * @return the summary of the updated meal, or empty if it does not exist
+     */
+    public Optional<MealSummary> toggleFavorite(Long id) {
+        if (mealRepository.toggleFavorites(List.of(id)) == 0) {
+            return Optional.empty();
+        }
+        return mealRepository.findSummaries(List.of(id), null, null, null, 1).stream().findFirst();
+    }
+
+    /**
+     * Flips the favorite flag of many meals with a single update statement.
+     *
+     * @param ids the IDs of the meals
+     * @return the number of meals updated
+     */
+    public int toggleFavorites(Collection<Long> ids) {
+        return ids.isEmpty() ? 0 : mealRepository.toggleFavorites(ids);
+    }
+
+    /**
+     * Searches the locally saved meals. Search text is matched by the in-memory
+     * search index; all other filters are conditions of the database query, so
+     * without search text the meals are found through the column indexes.
+     * <p>
+     * Only a free-text search is limited to the best
+     * {@code meals.search.max-results} matches. Without search text every
+     * matching meal is returned, so a category listing is never cut off. When
+     * the favorite or custom flag is given with search text, the ranked
+     * candidates are checked in bounded chunks until enough of them match.
+     * </p>
+     *
+     * @param name     the search text, matched against meal names, categories
+     *                 and ingredients (optional)
+     * @param category only return meals in this category (optional)
+     * @param favorite only return meals with this favorite flag (optional)
+     * @param custom   only return meals with this custom flag (optional)
+     * @return the summaries of the matching meals, best match first, or ordered
+     *         by name without search text
+     */
+    public List<MealSummary> searchLocalMeals(String name, String category, Boolean favorite, Boolean custom) {
+        if (name == null || name.isBlank()) {
+            return mealRepository.findSummaries(null, category, favorite, custom, Integer.MAX_VALUE);
+        }
+
+        // Rank every match when further filters may remove some of them
+        boolean filtered = favorite != null || custom != null;
+        List<Long> ids = mealSearchIndex.search(name, category, filtered ? Integer.MAX_VALUE : maxSearchResults);
+
+        List<MealSummary> meals = new ArrayList<>();
+        for (int from = 0; from < ids.size() && meals.size() < maxSearchResults; from += CANDIDATE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CANDIDATE_CHUNK_SIZE));
+            Map<Long, MealSummary> mealsById = new HashMap<>();
+            mealRepository.findSummaries(chunk, null, favorite, custom, chunk.size())
+                    .forEach(meal -> mealsById.put(meal.id(), meal));
+            for (Long id : chunk) {
+                MealSummary meal = mealsById.get(id);
+                if (meal != null && meals.size() < maxSearchResults) {
+                    meals.add(meal);
+                }
+            }
+        }
+        return meals;
+    }
+
+    /**
+     * Parses a TheMealDB response into meals holding only id, name and
+     * thumbnail.
+     *
+     * @param responseBody the raw JSON response body
+     * @return the parsed meals, or an empty list if the body cannot be parsed
+     */
     public List<Meal> parseMealDBResponse(String responseBody) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            Map<String, Object> responseMap = objectMapper.readValue(responseBody, Map.class);
-            List<Map<String, String>> meals = (List<Map<String, String>>) responseMap.get("meals");
-
             List<Meal> mealList = new ArrayList<>();
-            for (Map<String, String> mealData : meals) {
+            for (MealDBSummary summary : mealDBResponseParser.parseSummaries(responseBody)) {
                 Meal meal = new Meal();
-                meal.setId(Long.parseLong(mealData.get("idMeal"))); // Assuming idMeal is a Long
-                meal.setName(mealData.get("strMeal"));
-                meal.setThumbnail(mealData.get("strMealThumb"));
-                // Add more fields as required
+                meal.setId(summary.id());
+                meal.setName(summary.name());
+                meal.setThumbnail(summary.thumbnail());
                 mealList.add(meal);
             }
             return mealList;
@@ -140,4 +360,17 @@ public class MealService {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * Resolves the page size for a request.
+     *
+     * @param limit the requested page size, or null for the default
+     * @return the page size, between 1 and the configured maximum
+     */
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
 }
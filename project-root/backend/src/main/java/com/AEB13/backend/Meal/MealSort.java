@@ -0,0 +1,100 @@
+package com.AEB13.backend.Meal;
+
+import java.util.Comparator;
+
+/**
+ * The orders in which meal listings can be paginated. Every order ends with
+ * the meal id as a tie-breaker, so each meal has a unique position that a
+ * {@link MealCursor} can point at.
+ */
+public enum MealSort {
+
+    /**
+     * Ascending by id, i.e. in the order meals were saved.
+     */
+    ID("id", Comparator.comparing(MealSummary::id)),
+
+    /**
+     * Ascending by name.
+     */
+    NAME("name", Comparator.comparing(MealSummary::name).thenComparing(MealSummary::id)),
+
+    /**
+     * Most saved first.
+     */
+    SAVED_COUNT("savedCount",
+            Comparator.comparingInt(MealSummary::savedCount).reversed().thenComparing(MealSummary::id));
+
+    /**
+     * The name of this order in request parameters and cursors.
+     */
+    private final String parameter;
+
+    /**
+     * Compares meals in this order.
+     */
+    private final Comparator<MealSummary> comparator;
+
+    /**
+     * Creates a sort order.
+     *
+     * @param parameter  the name of the order in request parameters
+     * @param comparator compares meals in this order
+     */
+    MealSort(String parameter, Comparator<MealSummary> comparator) {
+        this.parameter = parameter;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Resolves a sort order from its request parameter.
+     *
+     * @param parameter "id", "name" or "savedCount", or null for the default
+     *                  order by id
+     * @return the matching sort order
+     * @throws IllegalArgumentException if the parameter is unknown
+     */
+    public static MealSort fromParameter(String parameter) {
+        if (parameter == null) {
+            return ID;
+        }
+        for (MealSort sort : values()) {
+            if (sort.parameter.equals(parameter)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort '" + parameter + "', expected id, name or savedCount.");
+    }
+
+    /**
+     * Returns the name of this order in request parameters and cursors.
+     *
+     * @return the parameter value
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Returns the comparator ordering meals in this order.
+     *
+     * @return the comparator
+     */
+    public Comparator<MealSummary> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the value of the sort key of a meal, as stored in a cursor.
+     *
+     * @param meal the meal
+     * @return the sort key value, or null when sorting by id
+     */
+    String keyOf(MealSummary meal) {
+        return switch (this) {
+            case ID -> null;
+            case NAME -> meal.name();
+            case SAVED_COUNT -> String.valueOf(meal.savedCount());
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.AEB13.backend.Meal;
+
+/**
+ * The fields of a meal shown in lists and search results.
+ * <p>
+ * Summaries are selected directly by the repository's projection queries, so
+ * the large ingredients and instructions columns are never read for list
+ * views. The full meal is available from {@code GET /api/meals/{id}}. The JSON
+ * property names match those of {@link Meal}.
+ * </p>
+ *
+ * @param id         the id of the meal
+ * @param name       the name of the meal
+ * @param thumbnail  the URL of the meal's thumbnail image
+ * @param category   the category of the meal
+ * @param youTubeVid the URL of the meal's YouTube video
+ * @param apiId      the id of the meal in TheMealDB, if saved from there
+ * @param savedCount the number of times the meal has been saved
+ * @param favorite   whether the meal is marked as a favorite
+ * @param custom     whether the meal was created by a user
+ */
+public record MealSummary(Long id, String name, String thumbnail, String category, String youTubeVid,
+        String apiId, int savedCount, boolean favorite, boolean custom) {
+
+    /**
+     * Creates the summary of a meal that is already loaded, such as a search
+     * result from TheMealDB.
+     *
+     * @param meal the meal
+     * @return the summary
+     */
+    public static MealSummary of(Meal meal) {
+        return new MealSummary(meal.getId(), meal.getName(), meal.getThumbnail(), meal.getCategory(),
+                meal.getYouTubeVid(), meal.getApiId(), meal.getSavedCount(), meal.isFavorite(), meal.isCustom());
+    }
+}
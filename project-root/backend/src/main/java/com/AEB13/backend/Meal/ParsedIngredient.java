@@ -0,0 +1,24 @@
+package com.AEB13.backend.Meal;
+
+/**
+ * One item of a meal's ingredient list, split into its parts.
+ *
+ * @param ingredient the name of the ingredient, e.g. "Flour"
+ * @param quantity   the numeric quantity, or null if the measure has none
+ *                   (e.g. "to taste")
+ * @param unit       the normalized unit, e.g. "g" or "tbsp"; empty if the
+ *                   quantity has no unit, null if there is no quantity
+ * @param note       the parenthesized remark after a quantity, e.g.
+ *                   "(chopped)", or the whole measure if there is no quantity
+ */
+public record ParsedIngredient(String ingredient, Double quantity, String unit, String note) {
+
+    /**
+     * Returns whether the measure has a numeric quantity that can be summed.
+     *
+     * @return true if the quantity is set
+     */
+    public boolean hasQuantity() {
+        return quantity != null;
+    }
+}
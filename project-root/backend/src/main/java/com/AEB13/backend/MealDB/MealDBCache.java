@@ -0,0 +1,135 @@
+package com.AEB13.backend.MealDB;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded in-memory cache for raw TheMealDB response bodies.
+ * <p>
+ * Entries are evicted in least-recently-used order once {@code maxEntries} is
+ * reached, and each entry expires after the time-to-live it was stored with.
+ * All operations are synchronized, which is cheap compared to the upstream
+ * round trip the cache avoids.
+ * </p>
+ */
+public class MealDBCache {
+
+    /**
+     * A cached response body together with its expiry timestamp.
+     */
+    private record Entry(String body, long expiresAtNanos) {
+    }
+
+    /**
+     * The maximum number of entries held before the least recently used entry is
+     * evicted.
+     */
+    private final int maxEntries;
+
+    /**
+     * Access-ordered map of cache keys to entries, oldest access first.
+     */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * Number of lookups that were answered from the cache.
+     */
+    private long hits;
+
+    /**
+     * Number of lookups that found no live entry.
+     */
+    private long misses;
+
+    /**
+     * Number of entries removed because the cache was full.
+     */
+    private long evictions;
+
+    /**
+     * Number of entries removed because their time-to-live had passed.
+     */
+    private long expirations;
+
+    /**
+     * Creates a cache holding at most {@code maxEntries} responses.
+     *
+     * @param maxEntries the maximum number of cached responses
+     */
+    public MealDBCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > MealDBCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached body for the given key if present and not expired.
+     *
+     * @param key the cache key (endpoint and query)
+     * @return the cached body, or null on a miss
+     */
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.body();
+    }
+
+    /**
+     * Stores a body under the given key for the given time-to-live.
+     *
+     * @param key        the cache key (endpoint and query)
+     * @param body       the response body to cache
+     * @param ttlSeconds how long the entry stays valid; values of zero or less
+     *                   disable caching for this entry
+     */
+    public synchronized void put(String key, String body, long ttlSeconds) {
+        if (ttlSeconds <= 0 || body == null) {
+            return;
+        }
+        entries.put(key, new Entry(body, System.nanoTime() + ttlSeconds * 1_000_000_000L));
+    }
+
+    /**
+     * Removes every entry. Counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns a snapshot of the cache size and hit/miss/eviction counters.
+     *
+     * @return a map of statistic names to values
+     */
+    public synchronized Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("size", (long) entries.size());
+        statistics.put("maxEntries", (long) maxEntries);
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        statistics.put("evictions", evictions);
+        statistics.put("expirations", expirations);
+        return statistics;
+    }
+}
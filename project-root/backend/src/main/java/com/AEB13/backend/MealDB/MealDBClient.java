@@ -0,0 +1,202 @@
+package com.AEB13.backend.MealDB;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Client for TheMealDB API that serves repeated requests from a local
+ * {@link MealDBCache}.
+ * <p>
+ * Requests are addressed by their path relative to {@code themealdb.api.url}
+ * (e.g. {@code /filter.php?c=Seafood}), which is also used as the cache key.
+ * Each endpoint has its own time-to-live, configured in
+ * {@code application.properties}.
+ * </p>
+ * <p>
+ * Concurrent requests for the same path are coalesced into one upstream call
+ * whose response is shared, so upstream traffic grows with the number of
+ * distinct queries rather than with the number of users. Independent requests
+ * can be issued concurrently with {@link #getAsync} and joined by the caller.
+ * </p>
+ */
+@Service
+public class MealDBClient {
+
+    /**
+     * Base URL for TheMealDB API, injected from application properties.
+     */
+    @Value("${themealdb.api.url}")
+    private String apiUrl;
+
+    /**
+     * Time-to-live in seconds for {@code list.php} responses (categories, areas).
+     */
+    @Value("${themealdb.cache.ttl-seconds.list:86400}")
+    private long listTtlSeconds;
+
+    /**
+     * Time-to-live in seconds for {@code filter.php} responses.
+     */
+    @Value("${themealdb.cache.ttl-seconds.filter:3600}")
+    private long filterTtlSeconds;
+
+    /**
+     * Time-to-live in seconds for {@code search.php} responses.
+     */
+    @Value("${themealdb.cache.ttl-seconds.search:600}")
+    private long searchTtlSeconds;
+
+    /**
+     * Time-to-live in seconds for any other endpoint, such as {@code lookup.php}.
+     */
+    @Value("${themealdb.cache.ttl-seconds.default:300}")
+    private long defaultTtlSeconds;
+
+    /**
+     * The shared, pooled RestTemplate for TheMealDB, see
+     * {@link MealDBClientConfig}.
+     */
+    private final RestTemplate restTemplate;
+
+    /**
+     * Executor running asynchronous upstream requests.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Cache of response bodies keyed by request path.
+     */
+    private final MealDBCache cache;
+
+    /**
+     * Outstanding upstream requests keyed by request path.
+     */
+    private final SingleFlight<String, String> inFlightRequests = new SingleFlight<>();
+
+    /**
+     * Creates the client with a cache bounded to the configured number of
+     * entries and a fixed-size pool of threads for asynchronous requests.
+     *
+     * @param mealDBRestTemplate the RestTemplate used for upstream calls
+     * @param maxEntries         the maximum number of cached responses
+     * @param asyncThreads       the number of threads for asynchronous requests
+     */
+    public MealDBClient(RestTemplate mealDBRestTemplate,
+            @Value("${themealdb.cache.max-entries:1000}") int maxEntries,
+            @Value("${themealdb.http.async-threads:8}") int asyncThreads) {
+        this.restTemplate = mealDBRestTemplate;
+        this.cache = new MealDBCache(maxEntries);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(asyncThreads, asyncThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(asyncThreads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mealdb-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // When the queue is full, run the request on the calling thread instead of failing
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the response body for the given path, from the cache if a live
+     * entry exists, otherwise from TheMealDB.
+     *
+     * @param path the endpoint and query relative to the API base URL, e.g.
+     *             {@code /list.php?c=list}
+     * @return the raw JSON response body
+     */
+    public String get(String path) {
+        String body = cache.get(path);
+        if (body != null) {
+            return body;
+        }
+        return inFlightRequests.execute(path, () -> fetch(path));
+    }
+
+    /**
+     * Asynchronously returns the response body for the given path. Cached
+     * responses complete immediately, all others are fetched on the client's
+     * executor.
+     *
+     * @param path the endpoint and query relative to the API base URL
+     * @return a future completing with the raw JSON response body
+     */
+    public CompletableFuture<String> getAsync(String path) {
+        String body = cache.get(path);
+        if (body != null) {
+            return CompletableFuture.completedFuture(body);
+        }
+        return inFlightRequests.executeAsync(path, () -> CompletableFuture.supplyAsync(() -> fetch(path), executor));
+    }
+
+    /**
+     * Returns the cache size and hit/miss/eviction counters, together with the
+     * number of upstream requests made and the number of calls that were
+     * coalesced into an outstanding request.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = cache.getStatistics();
+        statistics.put("upstreamRequests", inFlightRequests.getExecutions());
+        statistics.put("coalesced", inFlightRequests.getCoalesced());
+        return statistics;
+    }
+
+    /**
+     * Clears all cached responses.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Shuts down the asynchronous request executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Requests the path from TheMealDB and caches the response body.
+     *
+     * @param path the endpoint and query relative to the API base URL
+     * @return the raw JSON response body
+     */
+    private String fetch(String path) {
+        String body = restTemplate.getForObject(apiUrl + path, String.class);
+        cache.put(path, body, ttlSecondsFor(path));
+        return body;
+    }
+
+    /**
+     * Determines the time-to-live for a path from its endpoint name.
+     *
+     * @param path the request path
+     * @return the time-to-live in seconds
+     */
+    private long ttlSecondsFor(String path) {
+        if (path.startsWith("/list.php")) {
+            return listTtlSeconds;
+        } else if (path.startsWith("/filter.php")) {
+            return filterTtlSeconds;
+        } else if (path.startsWith("/search.php")) {
+            return searchTtlSeconds;
+        }
+        return defaultTtlSeconds;
+    }
+}
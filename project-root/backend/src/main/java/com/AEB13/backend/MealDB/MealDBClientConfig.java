@@ -0,0 +1,83 @@
+package com.AEB13.backend.MealDB;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Configuration of the HTTP client used for all calls to TheMealDB API.
+ * <p>
+ * Connections are pooled and kept alive between requests, and every stage of
+ * a request (waiting for a pooled connection, connecting, reading) is bounded
+ * by a timeout so that a hung upstream cannot block request threads
+ * indefinitely.
+ * </p>
+ */
+@Configuration
+public class MealDBClientConfig {
+
+    /**
+     * Maximum time in milliseconds to establish a connection to TheMealDB.
+     */
+    @Value("${themealdb.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    /**
+     * Maximum time in milliseconds to wait for response data once connected.
+     */
+    @Value("${themealdb.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    /**
+     * Maximum time in milliseconds to wait for a free connection from the pool.
+     */
+    @Value("${themealdb.http.pool-timeout-ms:1000}")
+    private long poolTimeoutMs;
+
+    /**
+     * Maximum number of pooled connections to TheMealDB.
+     */
+    @Value("${themealdb.http.max-connections:50}")
+    private int maxConnections;
+
+    /**
+     * Creates the pooled, timeout-bounded RestTemplate shared by all TheMealDB
+     * calls.
+     *
+     * @return the RestTemplate for TheMealDB
+     */
+    @Bean
+    public RestTemplate mealDBRestTemplate() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                // All requests go to the same host, so one route may use the whole pool
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+}
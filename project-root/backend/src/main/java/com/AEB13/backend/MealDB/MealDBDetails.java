@@ -0,0 +1,17 @@
+package com.AEB13.backend.MealDB;
+
+/**
+ * The details of a meal as returned by TheMealDB's {@code lookup.php}.
+ *
+ * @param id           TheMealDB's idMeal
+ * @param name         the meal name
+ * @param thumbnail    the thumbnail URL
+ * @param category     the meal category
+ * @param area         the meal area (cuisine)
+ * @param instructions the cooking instructions
+ * @param youTubeVid   the YouTube video URL
+ * @param ingredients  the ingredients in "ingredient - measure, ..." format
+ */
+public record MealDBDetails(Long id, String name, String thumbnail, String category, String area,
+        String instructions, String youTubeVid, String ingredients) {
+}
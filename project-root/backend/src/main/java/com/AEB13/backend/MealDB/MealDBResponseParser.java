@@ -0,0 +1,239 @@
+package com.AEB13.backend.MealDB;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming parser for TheMealDB responses.
+ * <p>
+ * All TheMealDB endpoints return an object with a single "meals" array (or
+ * null). Instead of deserializing the whole body into a tree of maps, this
+ * parser walks the tokens of that array and reads only the fields it needs
+ * into small records, skipping everything else. The underlying
+ * {@link ObjectMapper} is shared, and parsers are cheap to create from it.
+ * </p>
+ */
+@Component
+public class MealDBResponseParser {
+
+    /**
+     * The number of numbered ingredient/measure fields in a TheMealDB meal.
+     */
+    private static final int MAX_INGREDIENTS = 20;
+
+    /**
+     * Shared mapper whose factory creates the streaming parsers.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Reads one entry of the "meals" array. The parser is positioned on the
+     * entry's START_OBJECT token and must be left on its END_OBJECT token.
+     */
+    @FunctionalInterface
+    private interface EntryReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Parses the meal summaries from a {@code filter.php}, {@code search.php} or
+     * {@code lookup.php} response.
+     *
+     * @param body the raw JSON response body
+     * @return the summaries, empty if the response lists no meals
+     * @throws IOException if the body is not valid JSON
+     */
+    public List<MealDBSummary> parseSummaries(String body) throws IOException {
+        return readMeals(body, this::readSummary);
+    }
+
+    /**
+     * Parses the full meal details from a {@code lookup.php} or
+     * {@code search.php} response.
+     *
+     * @param body the raw JSON response body
+     * @return the meal details, empty if the response lists no meals
+     * @throws IOException if the body is not valid JSON
+     */
+    public List<MealDBDetails> parseDetails(String body) throws IOException {
+        return readMeals(body, this::readDetails);
+    }
+
+    /**
+     * Parses one field from every entry of a {@code list.php} response, such as
+     * strCategory or strArea. Empty and missing values are skipped.
+     *
+     * @param body  the raw JSON response body
+     * @param field the field to read
+     * @return the field values in response order
+     * @throws IOException if the body is not valid JSON
+     */
+    public List<String> parseNames(String body, String field) throws IOException {
+        List<String> names = readMeals(body, parser -> {
+            String value = null;
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                if (name.equals(field)) {
+                    value = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return value;
+        });
+        names.removeIf(name -> name == null || name.isEmpty());
+        return names;
+    }
+
+    /**
+     * Finds the "meals" array in a response and reads each of its entries.
+     *
+     * @param body   the raw JSON response body
+     * @param reader reads a single entry
+     * @return the entries read, empty if "meals" is null or missing
+     * @throws IOException if the body is not valid JSON
+     */
+    private <T> List<T> readMeals(String body, EntryReader<T> reader) throws IOException {
+        List<T> entries = new ArrayList<>();
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from TheMealDB");
+            }
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                if (name.equals("meals") && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        entries.add(reader.read(parser));
+                    }
+                    break;
+                }
+                parser.skipChildren();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads the id, name and thumbnail of a meal entry.
+     *
+     * @param parser the parser positioned on the entry
+     * @return the summary
+     */
+    private MealDBSummary readSummary(JsonParser parser) throws IOException {
+        String id = null;
+        String name = null;
+        String thumbnail = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "idMeal" -> id = parser.getValueAsString();
+                case "strMeal" -> name = parser.getValueAsString();
+                case "strMealThumb" -> thumbnail = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return new MealDBSummary(parseId(id), name, thumbnail);
+    }
+
+    /**
+     * Reads the details of a meal entry, joining its numbered
+     * strIngredientN/strMeasureN fields into the "ingredient - measure, ..."
+     * format used for saved meals.
+     *
+     * @param parser the parser positioned on the entry
+     * @return the details
+     */
+    private MealDBDetails readDetails(JsonParser parser) throws IOException {
+        String id = null;
+        String name = null;
+        String thumbnail = null;
+        String category = null;
+        String area = null;
+        String instructions = null;
+        String youTubeVid = null;
+        String[] ingredients = new String[MAX_INGREDIENTS + 1];
+        String[] measures = new String[MAX_INGREDIENTS + 1];
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "idMeal" -> id = parser.getValueAsString();
+                case "strMeal" -> name = parser.getValueAsString();
+                case "strMealThumb" -> thumbnail = parser.getValueAsString();
+                case "strCategory" -> category = parser.getValueAsString();
+                case "strArea" -> area = parser.getValueAsString();
+                case "strInstructions" -> instructions = parser.getValueAsString();
+                case "strYoutube" -> youTubeVid = parser.getValueAsString();
+                default -> {
+                    if (field.startsWith("strIngredient")) {
+                        storeNumbered(ingredients, field, "strIngredient".length(), parser.getValueAsString());
+                    } else if (field.startsWith("strMeasure")) {
+                        storeNumbered(measures, field, "strMeasure".length(), parser.getValueAsString());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        StringBuilder joined = new StringBuilder();
+        for (int i = 1; i <= MAX_INGREDIENTS; i++) {
+            String ingredient = ingredients[i] != null ? ingredients[i].trim() : "";
+            if (ingredient.isEmpty()) {
+                continue;
+            }
+            String measure = measures[i] != null ? measures[i].trim() : "";
+            if (joined.length() > 0) {
+                joined.append(", ");
+            }
+            joined.append(ingredient).append(" - ").append(measure.isEmpty() ? "as needed" : measure);
+        }
+
+        return new MealDBDetails(parseId(id), name, thumbnail, category, area, instructions, youTubeVid,
+                joined.toString());
+    }
+
+    /**
+     * Stores the value of a numbered field such as strIngredient7 at its index.
+     * Fields with an out-of-range or non-numeric suffix are ignored.
+     *
+     * @param values the values by index
+     * @param field  the field name
+     * @param prefix the length of the field name's prefix before the number
+     * @param value  the field value
+     */
+    private static void storeNumbered(String[] values, String field, int prefix, String value) {
+        int index = 0;
+        for (int i = prefix; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c < '0' || c > '9' || index > MAX_INGREDIENTS) {
+                return;
+            }
+            index = index * 10 + (c - '0');
+        }
+        if (index >= 1 && index <= MAX_INGREDIENTS) {
+            values[index] = value;
+        }
+    }
+
+    /**
+     * Parses TheMealDB's string id.
+     *
+     * @param id the idMeal value
+     * @return the id, or null if missing
+     */
+    private static Long parseId(String id) {
+        return id != null ? Long.valueOf(id) : null;
+    }
+}
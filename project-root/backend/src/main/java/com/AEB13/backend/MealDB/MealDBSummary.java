@@ -0,0 +1,11 @@
+package com.AEB13.backend.MealDB;
+
+/**
+ * The summary of a meal as listed by TheMealDB's {@code filter.php}.
+ *
+ * @param id        TheMealDB's idMeal
+ * @param name      the meal name (strMeal)
+ * @param thumbnail the thumbnail URL (strMealThumb)
+ */
+public record MealDBSummary(Long id, String name, String thumbnail) {
+}
@@ -0,0 +1,147 @@
+package com.AEB13.backend.MealDB;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ * <p>
+ * The first caller for a key runs the loader; callers arriving while it is
+ * still running wait for and share its result (or exception) instead of
+ * running the loader again. Once the call completes the key is released, so
+ * later callers start a new execution.
+ * </p>
+ * <p>
+ * The shared call is completed whatever the loader throws, errors included,
+ * so waiting callers never outlive it. Asynchronous callers each receive
+ * their own dependent future: cancelling it gives up that caller's wait
+ * without cancelling the execution the others share.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Outstanding executions by key.
+     */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Number of executions actually started.
+     */
+    private final LongAdder executions = new LongAdder();
+
+    /**
+     * Number of calls that joined an outstanding execution.
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the loader on the calling thread unless an execution for the key is
+     * already outstanding, in which case its result is awaited and returned.
+     *
+     * @param key    the key identifying identical calls
+     * @param loader produces the result
+     * @return the result of the (possibly shared) execution
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> outstanding = inFlight.putIfAbsent(key, call);
+        if (outstanding != null) {
+            coalesced.increment();
+            try {
+                return outstanding.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        executions.increment();
+        try {
+            V result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Starts the asynchronous loader unless an execution for the key is already
+     * outstanding, in which case the outstanding future is returned.
+     *
+     * @param key    the key identifying identical calls
+     * @param loader starts the execution and returns its future
+     * @return a future of this caller's own, completing with the result of
+     *         the (possibly shared) execution
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> outstanding = inFlight.putIfAbsent(key, call);
+        if (outstanding != null) {
+            coalesced.increment();
+            return outstanding.copy();
+        }
+
+        executions.increment();
+        try {
+            loader.get().whenComplete((result, error) -> {
+                inFlight.remove(key, call);
+                if (error != null) {
+                    call.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                } else {
+                    call.complete(result);
+                }
+            });
+        } catch (Throwable e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+        }
+        return call.copy();
+    }
+
+    /**
+     * Returns the number of executions actually started.
+     *
+     * @return the execution count
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Returns the number of calls that shared an outstanding execution instead
+     * of starting their own.
+     *
+     * @return the coalesced call count
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Rethrows the cause of a failed shared execution.
+     *
+     * @param e the exception thrown by joining the shared future
+     * @return the unchecked exception to throw
+     * @throws Error if the shared execution failed with an error
+     */
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return e;
+    }
+}
@@ -10,7 +10,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.AEB13.backend.Meal.MealCounterBuffer;
 import com.AEB13.backend.Meal.MealRepository;
+import com.AEB13.backend.MealDB.MealDBClient;
+import com.AEB13.backend.WeeklyPlan.ShoppingListCache;
 
 /**
  * REST controller that provides endpoints for retrieving statistical data
@@ -26,6 +29,24 @@ public class StatisticsController {
     @Autowired
     private MealRepository mealRepository;
 
+    /**
+     * Write-behind buffer for saved and cooked counts.
+     */
+    @Autowired
+    private MealCounterBuffer mealCounterBuffer;
+
+    /**
+     * Client for TheMealDB API, used to report its cache and request statistics.
+     */
+    @Autowired
+    private MealDBClient mealDBClient;
+
+    /**
+     * Cache of generated shopping lists, used to report its hit ratio.
+     */
+    @Autowired
+    private ShoppingListCache shoppingListCache;
+
     /**
      * Retrieves the total saved count of all meals.
      *
@@ -54,4 +75,37 @@ public class StatisticsController {
                 ));
         return ResponseEntity.ok(distribution);
     }
+
+    /**
+     * Retrieves the hit, miss and eviction counters of the TheMealDB response
+     * cache, and how many upstream calls were made or coalesced.
+     *
+     * @return a {@link ResponseEntity} containing the cache statistics
+     */
+    @GetMapping("/mealdb-cache")
+    public ResponseEntity<Map<String, Long>> getMealDBCacheStatistics() {
+        return ResponseEntity.ok(mealDBClient.getStatistics());
+    }
+
+    /**
+     * Retrieves the number of queued saved/cooked events and how many have been
+     * accepted and written.
+     *
+     * @return a {@link ResponseEntity} containing the ingestion statistics
+     */
+    @GetMapping("/meal-counters")
+    public ResponseEntity<Map<String, Long>> getMealCounterStatistics() {
+        return ResponseEntity.ok(mealCounterBuffer.getStatistics());
+    }
+
+    /**
+     * Retrieves the size, hit/miss counters and hit ratio of the shopping list
+     * cache, and how many lists were invalidated.
+     *
+     * @return a {@link ResponseEntity} containing the cache statistics
+     */
+    @GetMapping("/shopping-list-cache")
+    public ResponseEntity<Map<String, Object>> getShoppingListCacheStatistics() {
+        return ResponseEntity.ok(shoppingListCache.getStatistics());
+    }
 }
@@ -0,0 +1,10 @@
+package com.AEB13.backend.WeeklyPlan;
+
+/**
+ * Request body assigning a meal to one day of a weekly plan.
+ *
+ * @param mealId      the ID of the meal to plan
+ * @param portionSize the day's portion size, or null for the default of 1
+ */
+public record DayAssignment(Long mealId, Integer portionSize) {
+}
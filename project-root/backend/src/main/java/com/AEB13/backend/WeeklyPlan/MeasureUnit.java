@@ -0,0 +1,98 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Units whose quantities can be converted into each other when adding up a
+ * shopping list.
+ * <p>
+ * Each unit belongs to a dimension and knows its size in the dimension's base
+ * unit: grams for mass, milliliters for volume, pieces for counted
+ * ingredients without a unit. US measures use their customary sizes.
+ * </p>
+ */
+enum MeasureUnit {
+
+    G("g", Dimension.MASS, 1),
+    KG("kg", Dimension.MASS, 1000),
+    OZ("oz", Dimension.MASS, 28.349523125),
+    LB("lb", Dimension.MASS, 453.59237),
+    ML("ml", Dimension.VOLUME, 1),
+    L("l", Dimension.VOLUME, 1000),
+    TSP("tsp", Dimension.VOLUME, 4.92892159375),
+    TBSP("tbsp", Dimension.VOLUME, 14.78676478125),
+    CUP("cup", Dimension.VOLUME, 236.5882365),
+    PIECE("", Dimension.COUNT, 1);
+
+    /**
+     * What a quantity measures. Only quantities of the same dimension are
+     * added up.
+     */
+    enum Dimension {
+        MASS, VOLUME, COUNT
+    }
+
+    /**
+     * Units by their normalized spellings, including spellings that
+     * {@code IngredientParser} leaves as they are.
+     */
+    private static final Map<String, MeasureUnit> BY_SPELLING = new HashMap<>();
+
+    static {
+        for (MeasureUnit unit : values()) {
+            BY_SPELLING.put(unit.symbol, unit);
+        }
+        BY_SPELLING.put("lbs", LB);
+        BY_SPELLING.put("pound", LB);
+        BY_SPELLING.put("pounds", LB);
+        BY_SPELLING.put("litre", L);
+        BY_SPELLING.put("litres", L);
+        BY_SPELLING.put("liter", L);
+        BY_SPELLING.put("liters", L);
+        BY_SPELLING.put("cups", CUP);
+    }
+
+    /**
+     * The symbol shown on the shopping list, empty for pieces.
+     */
+    private final String symbol;
+
+    /**
+     * The dimension the unit measures.
+     */
+    private final Dimension dimension;
+
+    /**
+     * The size of the unit in the dimension's base unit.
+     */
+    private final double baseFactor;
+
+    MeasureUnit(String symbol, Dimension dimension, double baseFactor) {
+        this.symbol = symbol;
+        this.dimension = dimension;
+        this.baseFactor = baseFactor;
+    }
+
+    /**
+     * Looks up a unit by its normalized spelling.
+     *
+     * @param unit the normalized unit of a parsed ingredient
+     * @return the unit, or null if the unit cannot be converted
+     */
+    static MeasureUnit of(String unit) {
+        return BY_SPELLING.get(unit);
+    }
+
+    String getSymbol() {
+        return symbol;
+    }
+
+    Dimension getDimension() {
+        return dimension;
+    }
+
+    double getBaseFactor() {
+        return baseFactor;
+    }
+}
@@ -0,0 +1,211 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.AEB13.backend.Meal.ParsedIngredient;
+
+/**
+ * The shopping list of one weekly plan, kept as the contribution of each day.
+ * <p>
+ * Changing a day's meal or portion size subtracts the day's old contribution
+ * from the total and adds the new one, so a plan edit costs the ingredients
+ * of the changed days instead of all seven. Because
+ * {@link ShoppingListAggregate} sums exactly, the result is the same as
+ * computing the list of the edited plan from scratch.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; {@link ShoppingListCache} only touches them
+ * while holding its lock.
+ * </p>
+ */
+final class PlanShoppingList {
+
+    /**
+     * What a day of the plan contributes.
+     *
+     * @param meal         the planned meal and portion size
+     * @param contribution the day's scaled ingredients, or null if the meal
+     *                     does not exist or has no ingredients
+     */
+    private record Day(PlannedMeal meal, ShoppingListAggregate contribution) {
+    }
+
+    /**
+     * The planned days, Monday first.
+     */
+    private final Map<DayOfWeek, Day> days = new EnumMap<>(DayOfWeek.class);
+
+    /**
+     * The sum of all day contributions.
+     */
+    private final ShoppingListAggregate total = new ShoppingListAggregate();
+
+    /**
+     * The formatted list, or null if a day changed since it was formatted.
+     */
+    private Map<String, Object> shoppingList;
+
+    /**
+     * Computes the shopping list of a plan from scratch.
+     *
+     * @param weeklyPlan        the plan, with its days loaded
+     * @param ingredientsByMeal the parsed ingredients of the plan's meals
+     * @return the plan's shopping list
+     */
+    static PlanShoppingList of(WeeklyPlan weeklyPlan, Map<Long, List<ParsedIngredient>> ingredientsByMeal) {
+        PlanShoppingList list = new PlanShoppingList();
+        weeklyPlan.getDays().forEach((day, meal) -> list.setDay(day, meal,
+                ingredientsByMeal.get(meal.getMealId())));
+        return list;
+    }
+
+    /**
+     * Returns the meals of the days that differ between two versions of a plan,
+     * which are the meals whose ingredients {@link #update} needs.
+     *
+     * @param current the plan as it is
+     * @param updated the plan as it will be
+     * @return the ids of the meals planned on changed days of the updated plan
+     */
+    static Set<Long> changedMealIds(WeeklyPlan current, WeeklyPlan updated) {
+        Set<Long> mealIds = new HashSet<>();
+        updated.getDays().forEach((day, meal) -> {
+            if (!meal.equals(current.getDays().get(day))) {
+                mealIds.add(meal.getMealId());
+            }
+        });
+        return mealIds;
+    }
+
+    /**
+     * Brings the list in line with a new version of the plan, replacing the
+     * contributions of the days that changed.
+     *
+     * @param weeklyPlan        the updated plan
+     * @param ingredientsByMeal the parsed ingredients of at least the
+     *                          {@link #changedMealIds changed meals}, with an
+     *                          empty list for meals that do not exist
+     * @return false, leaving the list unchanged, if the ingredients of a changed
+     *         day's meal are missing
+     */
+    boolean update(WeeklyPlan weeklyPlan, Map<Long, List<ParsedIngredient>> ingredientsByMeal) {
+        List<DayOfWeek> changedDays = new ArrayList<>();
+        for (Map.Entry<DayOfWeek, PlannedMeal> entry : weeklyPlan.getDays().entrySet()) {
+            Day day = days.get(entry.getKey());
+            if (day == null || !day.meal().equals(entry.getValue())) {
+                if (!ingredientsByMeal.containsKey(entry.getValue().getMealId())) {
+                    return false;
+                }
+                changedDays.add(entry.getKey());
+            }
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (days.containsKey(day) && !weeklyPlan.getDays().containsKey(day)) {
+                clearDay(day);
+            }
+        }
+        for (DayOfWeek day : changedDays) {
+            PlannedMeal meal = weeklyPlan.getDays().get(day);
+            setDay(day, meal, ingredientsByMeal.get(meal.getMealId()));
+        }
+        return true;
+    }
+
+    /**
+     * Plans a meal on a day, replacing the day's previous contribution.
+     *
+     * @param day         the day
+     * @param meal        the planned meal and portion size
+     * @param ingredients the parsed ingredients of the meal, or null if it does
+     *                    not exist
+     */
+    void setDay(DayOfWeek day, PlannedMeal meal, List<ParsedIngredient> ingredients) {
+        clearDay(day);
+        ShoppingListAggregate contribution = null;
+        if (ingredients != null && !ingredients.isEmpty()) {
+            contribution = new ShoppingListAggregate();
+            contribution.add(ingredients, meal.getPortionSize());
+            total.merge(contribution);
+        }
+        days.put(day, new Day(meal, contribution));
+        shoppingList = null;
+    }
+
+    /**
+     * Removes a day and its contribution.
+     *
+     * @param day the day
+     */
+    void clearDay(DayOfWeek day) {
+        Day previous = days.remove(day);
+        if (previous != null && previous.contribution() != null) {
+            total.subtract(previous.contribution());
+        }
+        shoppingList = null;
+    }
+
+    /**
+     * Returns the meals the list was computed from.
+     *
+     * @return the ids of the planned meals
+     */
+    Set<Long> mealIds() {
+        Set<Long> mealIds = new HashSet<>();
+        days.values().forEach(day -> mealIds.add(day.meal().getMealId()));
+        return mealIds;
+    }
+
+    /**
+     * Returns the days whose meal could not be used.
+     *
+     * @return the names of the skipped days, Monday first
+     */
+    List<String> skippedDays() {
+        List<String> skipped = new ArrayList<>();
+        days.forEach((day, planned) -> {
+            if (planned.contribution() == null) {
+                skipped.add(WeeklyPlan.dayName(day));
+            }
+        });
+        return skipped;
+    }
+
+    /**
+     * Returns the sum of all day contributions.
+     *
+     * @return the total, which must not be modified
+     */
+    ShoppingListAggregate total() {
+        return total;
+    }
+
+    /**
+     * Returns whether no day contributes any ingredient.
+     *
+     * @return true if the list is empty
+     */
+    boolean isEmpty() {
+        return total.isEmpty();
+    }
+
+    /**
+     * Formats the list as returned by the shopping list endpoint, reusing the
+     * last result until a day changes.
+     *
+     * @return an unmodifiable map with the formatted "ingredients" and the
+     *         "skippedMeals"
+     */
+    Map<String, Object> toShoppingList() {
+        if (shoppingList == null) {
+            shoppingList = Collections.unmodifiableMap(total.toShoppingList(skippedDays()));
+        }
+        return shoppingList;
+    }
+}
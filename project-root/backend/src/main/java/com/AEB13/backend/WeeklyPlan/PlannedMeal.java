@@ -0,0 +1,63 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * The meal planned on one day of a {@link WeeklyPlan}, together with the
+ * day's portion size.
+ * <p>
+ * Both are stored in the same row of the plan's day table, so a day is read
+ * and written as a whole.
+ * </p>
+ */
+@Embeddable
+public class PlannedMeal {
+
+    /**
+     * The ID of the planned meal.
+     */
+    @Column(name = "meal_id", nullable = false)
+    private Long mealId;
+
+    /**
+     * The factor the meal's ingredients are scaled by on this day.
+     */
+    @Column(name = "portion_size", nullable = false)
+    private int portionSize;
+
+    protected PlannedMeal() {
+    }
+
+    /**
+     * Creates a planned meal.
+     *
+     * @param mealId      the ID of the meal
+     * @param portionSize the day's portion size
+     */
+    public PlannedMeal(Long mealId, int portionSize) {
+        this.mealId = mealId;
+        this.portionSize = portionSize;
+    }
+
+    public Long getMealId() {
+        return mealId;
+    }
+
+    public int getPortionSize() {
+        return portionSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PlannedMeal other && Objects.equals(mealId, other.mealId)
+                && portionSize == other.portionSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mealId, portionSize);
+    }
+}
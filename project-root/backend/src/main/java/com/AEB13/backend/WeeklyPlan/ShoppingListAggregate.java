@@ -0,0 +1,399 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.AEB13.backend.Meal.ParsedIngredient;
+
+/**
+ * The ingredients of one or more plans added up, before formatting.
+ * <p>
+ * Every distinct shopping list line is interned to an int id: the ingredient,
+ * compared case-insensitively, with its note and either the dimension of a
+ * convertible unit, an unconvertible unit or a non-numeric measure. Amounts
+ * are summed per id in a primitive array. Quantities of convertible units are
+ * stored as integral millionths of the dimension's base unit, so "500 g" and
+ * "1 kg", or "2 tbsp" and "1 tsp", end up on one line. Each line is rendered
+ * in the largest unit it was given in that it has at least one of, promoting
+ * grams to kilograms and milliliters to liters, under the alphabetically
+ * first spelling of its ingredient.
+ * </p>
+ * <p>
+ * Aggregates can be computed independently and then {@link #merge merged},
+ * which is what allows a shopping list over many plans to be computed in
+ * parallel, and an aggregate that was merged in can be {@link #subtract
+ * subtracted} again, which is what allows a plan's list to follow a single
+ * day's change. Every line counts its contributions, units and spellings, and
+ * all sums are exact integer arithmetic, so the result depends only on what
+ * is currently added, never on the order or on what was added and removed
+ * before.
+ * </p>
+ */
+final class ShoppingListAggregate {
+
+    /**
+     * Fixed-point scale of the stored amounts, in units per base unit.
+     */
+    private static final long MICROS = 1_000_000L;
+
+    /**
+     * Largest amount a single ingredient contributes, in millionths. Lines
+     * would need more than 65536 contributions of it to overflow a long.
+     */
+    private static final long MAX_CONTRIBUTION = 1L << 47;
+
+    /**
+     * The convertible units, by ordinal.
+     */
+    private static final MeasureUnit[] UNITS = MeasureUnit.values();
+
+    /**
+     * A distinct line of the shopping list.
+     *
+     * @param ingredient the ingredient in lower case
+     * @param note       the parenthesized note, or the measure of a
+     *                   non-numeric line
+     * @param dimension  the dimension of a convertible unit, otherwise null
+     * @param unit       the unit of a line that cannot be converted, otherwise
+     *                   null
+     * @param text       whether the line counts portions of a non-numeric
+     *                   measure
+     */
+    private record Line(String ingredient, String note, MeasureUnit.Dimension dimension, String unit,
+            boolean text) {
+    }
+
+    /**
+     * Line ids by line.
+     */
+    private final Map<Line, Integer> lineIds = new HashMap<>();
+
+    /**
+     * The lines in the order they were first added.
+     */
+    private final List<Line> lines = new ArrayList<>();
+
+    /**
+     * How often each spelling of the ingredient was added to each line.
+     */
+    private final List<Map<String, Integer>> spellings = new ArrayList<>();
+
+    /**
+     * Ingredient names in lower case, so each spelling is folded only once.
+     */
+    private final Map<String, String> foldedNames = new HashMap<>();
+
+    /**
+     * The summed amount of each line: millionths of the base unit or of the
+     * unconvertible unit, or the number of portions of a non-numeric line.
+     */
+    private long[] amounts = new long[32];
+
+    /**
+     * The number of ingredients currently added to each line. Lines without
+     * any are not shown.
+     */
+    private int[] contributions = new int[32];
+
+    /**
+     * How often each line was given in each convertible unit, indexed by line
+     * id times the number of units plus {@link MeasureUnit#ordinal()}.
+     */
+    private int[] unitCounts = new int[32 * UNITS.length];
+
+    /**
+     * Adds the scaled ingredients of a planned meal.
+     *
+     * @param ingredients the parsed ingredients of the meal
+     * @param multiplier  the portion size of the day
+     */
+    void add(List<ParsedIngredient> ingredients, int multiplier) {
+        for (ParsedIngredient ingredient : ingredients) {
+            String name = ingredient.ingredient();
+            String folded = foldedNames.computeIfAbsent(name, n -> n.toLowerCase(Locale.ROOT));
+            if (!ingredient.hasQuantity()) {
+                int id = lineId(new Line(folded, ingredient.note(), null, null, true));
+                count(id, name, 1, multiplier);
+                continue;
+            }
+            double quantity = ingredient.quantity() * multiplier;
+            MeasureUnit unit = MeasureUnit.of(ingredient.unit());
+            if (unit != null) {
+                int id = lineId(new Line(folded, ingredient.note(), unit.getDimension(), null, false));
+                count(id, name, 1, toMicros(quantity * unit.getBaseFactor()));
+                unitCounts[id * UNITS.length + unit.ordinal()]++;
+            } else {
+                int id = lineId(new Line(folded, ingredient.note(), null, ingredient.unit(), false));
+                count(id, name, 1, toMicros(quantity));
+            }
+        }
+    }
+
+    /**
+     * Adds another aggregate to this one.
+     *
+     * @param other the aggregate to add, which is not modified
+     * @return this aggregate
+     */
+    ShoppingListAggregate merge(ShoppingListAggregate other) {
+        for (int i = 0; i < other.lines.size(); i++) {
+            int id = lineId(other.lines.get(i));
+            combine(other, i, id, 1);
+        }
+        return this;
+    }
+
+    /**
+     * Removes an aggregate that was previously merged into this one.
+     *
+     * @param other the aggregate to remove, which is not modified
+     * @return this aggregate
+     * @throws IllegalArgumentException if a line of the other aggregate was
+     *                                  never added to this one
+     */
+    ShoppingListAggregate subtract(ShoppingListAggregate other) {
+        for (int i = 0; i < other.lines.size(); i++) {
+            Integer id = lineIds.get(other.lines.get(i));
+            if (id == null) {
+                throw new IllegalArgumentException("Subtracted line was never added: " + other.lines.get(i));
+            }
+            combine(other, i, id, -1);
+        }
+        return this;
+    }
+
+    /**
+     * Returns whether no ingredient is currently added.
+     *
+     * @return true if the aggregate has no ingredients
+     */
+    boolean isEmpty() {
+        for (int id = 0; id < lines.size(); id++) {
+            if (contributions[id] > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Formats the aggregate as returned by the shopping list endpoints.
+     *
+     * @param skippedMeals the days whose meal could not be used, in plan order
+     * @return a map with the formatted "ingredients" and the "skippedMeals"
+     */
+    Map<String, Object> toShoppingList(List<String> skippedMeals) {
+        Map<String, Double> quantities = new HashMap<>();
+        Map<String, Integer> nonNumericCounts = new HashMap<>();
+        for (int id = 0; id < lines.size(); id++) {
+            if (contributions[id] == 0) {
+                continue;
+            }
+            Line line = lines.get(id);
+            String name = displayName(spellings.get(id));
+            if (line.text()) {
+                nonNumericCounts.merge(name + " (" + line.note() + ")", (int) amounts[id], Integer::sum);
+                continue;
+            }
+            String unit;
+            double quantity;
+            if (line.dimension() != null) {
+                MeasureUnit display = displayUnit(id);
+                unit = display.getSymbol();
+                quantity = amounts[id] / (display.getBaseFactor() * MICROS);
+            } else {
+                unit = line.unit();
+                quantity = (double) amounts[id] / MICROS;
+            }
+            String label = unit + (line.note().isEmpty() ? "" : " " + line.note());
+            quantities.merge(name + (label.isEmpty() ? "" : " (" + label + ")"), quantity, Double::sum);
+        }
+
+        Map<String, Object> shoppingList = new HashMap<>();
+        shoppingList.put("ingredients", formatShoppingList(quantities, nonNumericCounts));
+        shoppingList.put("skippedMeals", skippedMeals);
+        return shoppingList;
+    }
+
+    /**
+     * Converts a map of scaled ingredients to a formatted map for display or
+     * output.
+     *
+     * @param consolidatedIngredients the map containing ingredient keys and numeric
+     *                                values
+     * @param nonNumericCounts        the number of counts for no numeric quantities
+     * @return a map of ingredient keys and their formatted quantities
+     */
+    static Map<String, String> formatShoppingList(Map<String, Double> consolidatedIngredients,
+            Map<String, Integer> nonNumericCounts) {
+        Map<String, String> shoppingList = new HashMap<>();
+
+        for (Map.Entry<String, Double> entry : consolidatedIngredients.entrySet()) {
+            String ingredient = entry.getKey();
+            Double quantity = entry.getValue();
+
+            if (quantity != -1.0) {
+                shoppingList.put(ingredient, formatQuantity(quantity));
+            }
+        }
+
+        for (Map.Entry<String, Integer> entry : nonNumericCounts.entrySet()) {
+            String ingredient = entry.getKey();
+            Integer totalMultiplier = entry.getValue(); // Total count includes scaling
+            shoppingList.put(ingredient, totalMultiplier + "x " + measureOf(ingredient));
+        }
+
+        return shoppingList;
+    }
+
+    /**
+     * Formats a quantity with two decimals, rounding half up like
+     * {@code String.format("%.2f", quantity)} but without parsing a format
+     * string and always with a decimal point.
+     *
+     * @param quantity the quantity
+     * @return the formatted quantity
+     */
+    private static String formatQuantity(double quantity) {
+        if (!Double.isFinite(quantity)) {
+            return String.valueOf(quantity);
+        }
+        return BigDecimal.valueOf(quantity).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * Extracts the measure from a non-numeric shopping list key of the form
+     * "ingredient (measure)": the text after the first parenthesis up to the
+     * next one, without closing parentheses.
+     *
+     * @param key the shopping list key
+     * @return the measure
+     */
+    private static String measureOf(String key) {
+        int open = key.indexOf('(');
+        int next = key.indexOf('(', open + 1);
+        String measure = key.substring(open + 1, next < 0 ? key.length() : next);
+        return measure.indexOf(')') < 0 ? measure : measure.replace(")", "");
+    }
+
+    /**
+     * Returns the id of a line, interning it if it is new.
+     *
+     * @param line the line
+     * @return the line's id
+     */
+    private int lineId(Line line) {
+        Integer id = lineIds.get(line);
+        if (id != null) {
+            return id;
+        }
+        int newId = lines.size();
+        lineIds.put(line, newId);
+        lines.add(line);
+        spellings.add(new HashMap<>(2));
+        if (newId == amounts.length) {
+            amounts = Arrays.copyOf(amounts, newId * 2);
+            contributions = Arrays.copyOf(contributions, newId * 2);
+            unitCounts = Arrays.copyOf(unitCounts, newId * 2 * UNITS.length);
+        }
+        return newId;
+    }
+
+    /**
+     * Adds contributions to a line.
+     *
+     * @param id     the line's id
+     * @param name   the spelling of the ingredient
+     * @param count  the number of contributions, negative to remove them
+     * @param amount the amount they add up to
+     */
+    private void count(int id, String name, int count, long amount) {
+        amounts[id] += amount;
+        contributions[id] += count;
+        spellings.get(id).merge(name, count, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    /**
+     * Adds a line of another aggregate to a line of this one, or removes it.
+     *
+     * @param other   the other aggregate
+     * @param otherId the line's id in the other aggregate
+     * @param id      the line's id in this aggregate
+     * @param sign    1 to add, -1 to remove
+     */
+    private void combine(ShoppingListAggregate other, int otherId, int id, int sign) {
+        amounts[id] += sign * other.amounts[otherId];
+        contributions[id] += sign * other.contributions[otherId];
+        for (int u = 0; u < UNITS.length; u++) {
+            unitCounts[id * UNITS.length + u] += sign * other.unitCounts[otherId * UNITS.length + u];
+        }
+        Map<String, Integer> names = spellings.get(id);
+        for (Map.Entry<String, Integer> spelling : other.spellings.get(otherId).entrySet()) {
+            names.merge(spelling.getKey(), sign * spelling.getValue(), (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    /**
+     * Picks the spelling a line is shown with, independently of the order the
+     * spellings were added in.
+     *
+     * @param names the spellings of the line's ingredient that are added
+     * @return the alphabetically first spelling
+     */
+    private static String displayName(Map<String, Integer> names) {
+        String first = null;
+        for (String name : names.keySet()) {
+            if (first == null || name.compareTo(first) < 0) {
+                first = name;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Picks the unit a line's summed amount is shown in: the largest of the
+     * line's units that the amount has at least one of, otherwise the smallest.
+     *
+     * @param id the line's id
+     * @return the unit to show the amount in
+     */
+    private MeasureUnit displayUnit(int id) {
+        int offset = id * UNITS.length;
+        long amount = amounts[id];
+        MeasureUnit largest = null;
+        MeasureUnit smallest = null;
+        for (MeasureUnit unit : UNITS) {
+            boolean candidate = unitCounts[offset + unit.ordinal()] > 0
+                    || unit == MeasureUnit.KG && unitCounts[offset + MeasureUnit.G.ordinal()] > 0
+                    || unit == MeasureUnit.L && unitCounts[offset + MeasureUnit.ML.ordinal()] > 0;
+            if (!candidate) {
+                continue;
+            }
+            if (smallest == null || unit.getBaseFactor() < smallest.getBaseFactor()) {
+                smallest = unit;
+            }
+            if (amount >= unit.getBaseFactor() * MICROS
+                    && (largest == null || unit.getBaseFactor() > largest.getBaseFactor())) {
+                largest = unit;
+            }
+        }
+        return largest != null ? largest : smallest;
+    }
+
+    /**
+     * Converts a quantity into millionths, rounding to the nearest one.
+     *
+     * @param quantity the quantity
+     * @return the quantity in millionths, limited to
+     *         {@link #MAX_CONTRIBUTION} either way
+     */
+    private static long toMicros(double quantity) {
+        return Math.max(-MAX_CONTRIBUTION, Math.min(MAX_CONTRIBUTION, Math.round(quantity * MICROS)));
+    }
+}
@@ -0,0 +1,301 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.AEB13.backend.Meal.MealChangedEvent;
+import com.AEB13.backend.Meal.ParsedIngredient;
+
+/**
+ * A bounded in-memory cache of generated shopping lists, keyed by plan id.
+ * <p>
+ * Each entry is a {@link PlanShoppingList} that knows the meals its plan
+ * referenced, and a reverse index from meal id to plan ids lets a change to
+ * one meal drop exactly the lists that used it. Updated plans are applied to
+ * their entry day by day, deleted plans are invalidated by the service, meals
+ * through {@link MealChangedEvent}s. Entries are evicted in
+ * least-recently-used order once {@code maxEntries} is reached.
+ * </p>
+ * <p>
+ * A list computed while a plan or meal changes may already be stale, so
+ * callers take an {@link #epoch()} before reading from the database and a
+ * {@link #put} or {@link #update} is not applied if any change happened
+ * since. All operations are synchronized, which is cheap compared to the
+ * queries a hit avoids.
+ * </p>
+ */
+@Component
+public class ShoppingListCache {
+
+    /**
+     * The maximum number of entries held before the least recently used entry is
+     * evicted.
+     */
+    private final int maxEntries;
+
+    /**
+     * Access-ordered map of plan ids to entries, oldest access first.
+     */
+    private final LinkedHashMap<Long, PlanShoppingList> entries;
+
+    /**
+     * The ids of the cached plans that reference each meal.
+     */
+    private final Map<Long, Set<Long>> plansByMeal = new HashMap<>();
+
+    /**
+     * Incremented by every change of a plan or meal, so that lists computed
+     * before it are not stored.
+     */
+    private long epoch;
+
+    /**
+     * Number of lookups that were answered from the cache.
+     */
+    private long hits;
+
+    /**
+     * Number of lookups that found no entry.
+     */
+    private long misses;
+
+    /**
+     * Number of entries removed because the cache was full.
+     */
+    private long evictions;
+
+    /**
+     * Number of entries removed because their plan or one of its meals changed.
+     */
+    private long invalidations;
+
+    /**
+     * Number of entries updated in place for a changed plan.
+     */
+    private long incrementalUpdates;
+
+    /**
+     * Number of lists not stored because an invalidation happened while they
+     * were computed.
+     */
+    private long stalePuts;
+
+    /**
+     * Creates a cache holding at most {@code maxEntries} shopping lists.
+     *
+     * @param maxEntries the maximum number of cached shopping lists
+     */
+    public ShoppingListCache(@Value("${shopping-lists.cache.max-entries:500}") int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PlanShoppingList> eldest) {
+                if (size() > ShoppingListCache.this.maxEntries) {
+                    unindex(eldest.getKey(), eldest.getValue().mealIds());
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the current epoch, to be passed to {@link #put} with a list
+     * computed afterwards.
+     *
+     * @return the number of changes so far
+     */
+    public synchronized long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the cached shopping list of a plan.
+     *
+     * @param planId the ID of the plan
+     * @return the cached shopping list, or null on a miss
+     */
+    public synchronized Map<String, Object> get(Long planId) {
+        PlanShoppingList entry = entries.get(planId);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.toShoppingList();
+    }
+
+    /**
+     * Returns whether the shopping list of a plan is cached, without counting
+     * a lookup or touching its recency.
+     *
+     * @param planId the ID of the plan
+     * @return true if the plan has an entry
+     */
+    public synchronized boolean contains(Long planId) {
+        return entries.containsKey(planId);
+    }
+
+    /**
+     * Stores the shopping list of a plan, unless the plan or any meal was
+     * invalidated since the given epoch.
+     *
+     * @param planId       the ID of the plan
+     * @param shoppingList the generated shopping list, which the caller must
+     *                     not use afterwards
+     * @param epoch        the {@link #epoch()} taken before the list was
+     *                     computed
+     */
+    synchronized void put(Long planId, PlanShoppingList shoppingList, long epoch) {
+        if (epoch != this.epoch) {
+            stalePuts++;
+            return;
+        }
+        PlanShoppingList previous = entries.put(planId, shoppingList);
+        if (previous != null) {
+            unindex(planId, previous.mealIds());
+        }
+        index(planId, shoppingList.mealIds());
+    }
+
+    /**
+     * Applies an update of a plan to its cached shopping list. The entry is
+     * dropped instead if anything changed since the given epoch, or the
+     * ingredients of a changed day are missing.
+     *
+     * @param weeklyPlan        the updated plan
+     * @param ingredientsByMeal the parsed ingredients of the meals on the days
+     *                          that changed, see
+     *                          {@link PlanShoppingList#update}
+     * @param epoch             the {@link #epoch()} taken before the plan was
+     *                          read
+     */
+    synchronized void update(WeeklyPlan weeklyPlan, Map<Long, List<ParsedIngredient>> ingredientsByMeal,
+            long epoch) {
+        Long planId = weeklyPlan.getId();
+        boolean stale = epoch != this.epoch;
+        this.epoch++;
+        PlanShoppingList entry = entries.get(planId);
+        if (entry == null) {
+            return;
+        }
+        Set<Long> mealIds = entry.mealIds();
+        if (stale || !entry.update(weeklyPlan, ingredientsByMeal) || entry.isEmpty()) {
+            remove(planId);
+            return;
+        }
+        unindex(planId, mealIds);
+        index(planId, entry.mealIds());
+        incrementalUpdates++;
+    }
+
+    /**
+     * Drops the shopping list of a plan that was updated or deleted.
+     *
+     * @param planId the ID of the plan
+     */
+    public synchronized void invalidatePlan(Long planId) {
+        epoch++;
+        remove(planId);
+    }
+
+    /**
+     * Drops the shopping lists of all plans that reference a meal.
+     *
+     * @param mealId the id of the meal
+     */
+    public synchronized void invalidateMeal(Long mealId) {
+        epoch++;
+        Set<Long> planIds = plansByMeal.get(mealId);
+        if (planIds != null) {
+            for (Long planId : Set.copyOf(planIds)) {
+                remove(planId);
+            }
+        }
+    }
+
+    /**
+     * Drops the shopping lists that used a meal that was updated or deleted.
+     *
+     * @param event the change of the meal
+     */
+    @EventListener
+    public void onMealChanged(MealChangedEvent event) {
+        invalidateMeal(event.mealId());
+    }
+
+    /**
+     * Returns a snapshot of the cache size, hit/miss counters and hit ratio.
+     *
+     * @return a map of statistic names to values
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", (long) entries.size());
+        statistics.put("maxEntries", (long) maxEntries);
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        long lookups = hits + misses;
+        statistics.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        statistics.put("evictions", evictions);
+        statistics.put("invalidations", invalidations);
+        statistics.put("incrementalUpdates", incrementalUpdates);
+        statistics.put("stalePuts", stalePuts);
+        return statistics;
+    }
+
+    /**
+     * Removes the entry of a plan, if cached.
+     *
+     * @param planId the ID of the plan
+     */
+    private void remove(Long planId) {
+        PlanShoppingList entry = entries.remove(planId);
+        if (entry != null) {
+            unindex(planId, entry.mealIds());
+            invalidations++;
+        }
+    }
+
+    /**
+     * Adds a plan to the reverse index of its meals.
+     *
+     * @param planId  the ID of the plan
+     * @param mealIds the meals of the plan's entry
+     */
+    private void index(Long planId, Set<Long> mealIds) {
+        for (Long mealId : mealIds) {
+            plansByMeal.computeIfAbsent(mealId, id -> new HashSet<>()).add(planId);
+        }
+    }
+
+    /**
+     * Removes a plan from the reverse index of its meals.
+     *
+     * @param planId  the ID of the plan
+     * @param mealIds the meals of the plan's entry when it was indexed
+     */
+    private void unindex(Long planId, Set<Long> mealIds) {
+        for (Long mealId : mealIds) {
+            Set<Long> planIds = plansByMeal.get(mealId);
+            if (planIds != null) {
+                planIds.remove(planId);
+                if (planIds.isEmpty()) {
+                    plansByMeal.remove(mealId);
+                }
+            }
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com.AEB13.backend.WeeklyPlan;
 
-import java.util.HashMap;
+import java.time.DayOfWeek;
+import java.time.format.TextStyle;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.MapKeyEnumerated;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.SortNatural;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Represents a weekly meal plan entity that associates specific meals with
  * specific days.
  * <p>
  * Each plan is identified by a unique week number and contains a mapping of
- * days to meal IDs.
+ * days to planned meals. In JSON the days are shown as the maps "meals" and
+ * "portionSizes", keyed by day names such as "Monday".
  * </p>
  */
 @Entity
@@ -43,22 +55,21 @@ public class WeeklyPlan {
     private int week;
 
     /**
-     * A map associating days of the week (e.g., "Monday") with meal IDs.
+     * The planned meals and portion sizes by day, Monday first.
      * <p>
-     * Stored as a collection table named "weekly_plan_meals".
+     * Stored as a collection table named "weekly_plan_days" with one row per
+     * planned day, keyed by the day's {@link DayOfWeek#ordinal() ordinal}.
+     * The days are kept sorted as they are loaded, so they never need to be
+     * sorted per request.
      * </p>
      */
+    @JsonIgnore
     @ElementCollection
-    @CollectionTable(name = "weekly_plan_meals", joinColumns = @JoinColumn(name = "weekly_plan_id"))
-    @MapKeyColumn(name = "day")
-    @Column(name = "meal_id")
-    private Map<String, Long> meals = new HashMap<>();
-
-    @ElementCollection
-    @CollectionTable(name = "weekly_plan_portion_sizes", joinColumns = @JoinColumn(name = "weekly_plan_id"))
-    @MapKeyColumn(name = "day")
-    @Column(name = "portion_size")
-    private Map<String, Integer> portionSizes = new HashMap<>();
+    @CollectionTable(name = "weekly_plan_days", joinColumns = @JoinColumn(name = "weekly_plan_id"))
+    @MapKeyColumn(name = "day_of_week")
+    @MapKeyEnumerated(EnumType.ORDINAL)
+    @SortNatural
+    private SortedMap<DayOfWeek, PlannedMeal> days = new TreeMap<>();
 
     public Long getId() {
         return id;
@@ -76,19 +87,66 @@ public class WeeklyPlan {
         this.week = week;
     }
 
-    public Map<String, Long> getMeals() {
-        return meals;
+    /**
+     * Returns the planned days. Changing the returned map changes the plan.
+     *
+     * @return the planned meals by day, Monday first
+     */
+    public SortedMap<DayOfWeek, PlannedMeal> getDays() {
+        return days;
     }
 
-    public void setMeals(Map<String, Long> meals) {
-        this.meals = meals;
+    public void setDays(SortedMap<DayOfWeek, PlannedMeal> days) {
+        this.days = days;
+    }
+
+    /**
+     * Returns the meal IDs by day name, e.g. "Monday", Monday first.
+     *
+     * @return a new map of day names to meal IDs
+     */
+    public Map<String, Long> getMeals() {
+        Map<String, Long> meals = new LinkedHashMap<>();
+        days.forEach((day, meal) -> meals.put(dayName(day), meal.getMealId()));
+        return meals;
     }
 
+    /**
+     * Returns the portion sizes by day name, e.g. "Monday", Monday first.
+     *
+     * @return a new map of day names to portion sizes
+     */
     public Map<String, Integer> getPortionSizes() {
+        Map<String, Integer> portionSizes = new LinkedHashMap<>();
+        days.forEach((day, meal) -> portionSizes.put(dayName(day), meal.getPortionSize()));
         return portionSizes;
     }
 
-    public void setPortionSizes(Map<String, Integer> portionSizes) {
-        this.portionSizes = portionSizes;
+    /**
+     * Returns the name a day is shown with, e.g. "Monday".
+     *
+     * @param day the day
+     * @return the day's English name
+     */
+    public static String dayName(DayOfWeek day) {
+        return day.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+
+    /**
+     * Parses a day name such as "Monday", ignoring case.
+     *
+     * @param name the day name
+     * @return the day
+     * @throws IllegalArgumentException if the name is not an English day name
+     */
+    public static DayOfWeek parseDay(String name) {
+        if (name != null) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (day.name().equalsIgnoreCase(name.trim())) {
+                    return day;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown day: " + name);
     }
 }
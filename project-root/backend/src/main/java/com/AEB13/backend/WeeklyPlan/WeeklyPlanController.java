@@ -7,11 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -42,6 +44,34 @@ public class WeeklyPlanController {
         return ResponseEntity.ok(weeklyPlanService.generateShoppingList(planId));
     }
 
+    /**
+     * Generates one shopping list over several weekly plans, given either as a
+     * list of plan IDs or as a range of weeks.
+     *
+     * @param planIds  the IDs of the plans (optional)
+     * @param fromWeek the first week of the range, inclusive (optional)
+     * @param toWeek   the last week of the range, inclusive (optional)
+     * @return the combined shopping list, or 400 if the request names no, too
+     *         many or unknown plans, or the plans have no valid meals
+     */
+    @GetMapping("/shopping-list")
+    public ResponseEntity<?> getCombinedShoppingList(
+            @RequestParam(required = false) List<Long> planIds,
+            @RequestParam(required = false) Integer fromWeek,
+            @RequestParam(required = false) Integer toWeek) {
+        try {
+            if (planIds != null && fromWeek == null && toWeek == null) {
+                return ResponseEntity.ok(weeklyPlanService.generateShoppingList(planIds));
+            }
+            if (planIds == null && fromWeek != null && toWeek != null) {
+                return ResponseEntity.ok(weeklyPlanService.generateShoppingListForWeeks(fromWeek, toWeek));
+            }
+            return ResponseEntity.badRequest().body("Specify either planIds or both fromWeek and toWeek.");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Retrieves a specific weekly plan by its ID.
      *
@@ -54,14 +84,60 @@ public class WeeklyPlanController {
     }
 
     /**
-     * Retrieves all weekly plans in the system.
+     * Retrieves all weekly plans in the system, or one page of them given as a
+     * range of weeks.
      *
-     * @return a list of all existing {@link WeeklyPlan} objects
+     * @param fromWeek the first week of the page, inclusive (optional)
+     * @param toWeek   the last week of the page, inclusive (optional)
+     * @return the existing {@link WeeklyPlan} objects in week order, or 400 if
+     *         only one bound is given or the range is empty or too long
      */
     @GetMapping("/create-weekly-plans")
-    public ResponseEntity<List<WeeklyPlan>> getAllWeeklyPlans() {
-        List<WeeklyPlan> weeklyPlans = weeklyPlanService.getAllWeeklyPlans();
-        return ResponseEntity.ok(weeklyPlans);
+    public ResponseEntity<?> getAllWeeklyPlans(
+            @RequestParam(required = false) Integer fromWeek,
+            @RequestParam(required = false) Integer toWeek) {
+        if (fromWeek == null && toWeek == null) {
+            return ResponseEntity.ok(weeklyPlanService.getAllWeeklyPlans());
+        }
+        if (fromWeek == null || toWeek == null) {
+            return ResponseEntity.badRequest().body("Specify both fromWeek and toWeek, or neither.");
+        }
+        try {
+            return ResponseEntity.ok(weeklyPlanService.getWeeklyPlans(fromWeek, toWeek));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a weekly plan with the summaries of its meals embedded, so a
+     * week can be shown with a single request.
+     *
+     * @param id the ID of the weekly plan
+     * @return the plan and the name, thumbnail and category of each planned
+     *         meal
+     */
+    @GetMapping("/weekly-plan-views/{id}")
+    public ResponseEntity<WeeklyPlanView> getWeeklyPlanView(@PathVariable Long id) {
+        return ResponseEntity.ok(weeklyPlanService.getWeeklyPlanView(id));
+    }
+
+    /**
+     * Retrieves the weekly plans of a range of weeks with the summaries of
+     * their meals embedded.
+     *
+     * @param fromWeek the first week, inclusive
+     * @param toWeek   the last week, inclusive
+     * @return the plans of the range in week order, or 400 if the range is
+     *         empty or too long
+     */
+    @GetMapping("/weekly-plan-views")
+    public ResponseEntity<?> getWeeklyPlanViews(@RequestParam int fromWeek, @RequestParam int toWeek) {
+        try {
+            return ResponseEntity.ok(weeklyPlanService.getWeeklyPlanViews(fromWeek, toWeek));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -70,14 +146,14 @@ public class WeeklyPlanController {
      * A plan for the specified week will be rejected if it already exists.
      * </p>
      *
-     * @param weeklyPlan the new weekly plan to create
+     * @param request the week, meals and portion sizes of the new plan
      * @return the created {@link WeeklyPlan} if successful, otherwise an error
      *         message
      */
     @PostMapping("/create-weekly-plans")
-    public ResponseEntity<?> createWeeklyPlan(@RequestBody WeeklyPlan weeklyPlan) {
+    public ResponseEntity<?> createWeeklyPlan(@RequestBody WeeklyPlanRequest request) {
         try {
-            WeeklyPlan savedPlan = weeklyPlanService.createWeeklyPlan(weeklyPlan);
+            WeeklyPlan savedPlan = weeklyPlanService.createWeeklyPlan(request);
             return ResponseEntity.ok(savedPlan);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -87,13 +163,57 @@ public class WeeklyPlanController {
     /**
      * Updates an existing weekly plan by replacing its day-to-meal associations.
      *
-     * @param id    the ID of the plan to update
-     * @param meals a map of days to meal IDs
-     * @return the updated {@link WeeklyPlan} object
+     * @param id      the ID of the plan to update
+     * @param request the maps of days to meal IDs and portion sizes
+     * @return the updated {@link WeeklyPlan} object, or 400 if a day or
+     *         portion size is invalid
      */
     @PutMapping("/create-weekly-plans/{id}")
-    public ResponseEntity<WeeklyPlan> updateWeeklyPlan(@PathVariable Long id, @RequestBody WeeklyPlan request) {
-        return ResponseEntity.ok(weeklyPlanService.updateWeeklyPlan(id, request));
+    public ResponseEntity<?> updateWeeklyPlan(@PathVariable Long id, @RequestBody WeeklyPlanRequest request) {
+        try {
+            return ResponseEntity.ok(weeklyPlanService.updateWeeklyPlan(id, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Plans a meal on one day of a weekly plan, leaving the other days as they
+     * are.
+     *
+     * @param id         the ID of the plan to update
+     * @param day        the day, e.g. "Monday"
+     * @param assignment the meal ID and optional portion size of the day
+     * @return the updated {@link WeeklyPlan} object, or 400 if the day is
+     *         unknown, the meal ID is missing or the portion size is not
+     *         positive
+     */
+    @PatchMapping("/create-weekly-plans/{id}/days/{day}")
+    public ResponseEntity<?> setDay(@PathVariable Long id, @PathVariable String day,
+            @RequestBody DayAssignment assignment) {
+        try {
+            return ResponseEntity.ok(weeklyPlanService.setDay(id, WeeklyPlan.parseDay(day), assignment.mealId(),
+                    assignment.portionSize()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the meal of one day of a weekly plan.
+     *
+     * @param id  the ID of the plan to update
+     * @param day the day, e.g. "Monday"
+     * @return the updated {@link WeeklyPlan} object, or 400 if the day is
+     *         unknown
+     */
+    @DeleteMapping("/create-weekly-plans/{id}/days/{day}")
+    public ResponseEntity<?> clearDay(@PathVariable Long id, @PathVariable String day) {
+        try {
+            return ResponseEntity.ok(weeklyPlanService.clearDay(id, WeeklyPlan.parseDay(day)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
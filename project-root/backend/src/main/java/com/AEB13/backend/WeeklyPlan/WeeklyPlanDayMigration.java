@@ -0,0 +1,122 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.sql.ResultSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the days of weekly plans from the former schema into
+ * "weekly_plan_days".
+ * <p>
+ * Plans used to store their days as free-text keys in two tables,
+ * "weekly_plan_meals" and "weekly_plan_portion_sizes". If those tables still
+ * exist at startup, their rows are copied into one row per planned day and
+ * the tables are dropped. Days whose name is not an English day name, or
+ * that have no meal, cannot be represented and are dropped with a warning;
+ * portion sizes that are missing or not positive become 1. Plans that
+ * already have days are left alone, so an interrupted migration can simply
+ * run again.
+ * </p>
+ */
+@Component
+public class WeeklyPlanDayMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeeklyPlanDayMigration.class);
+
+    /**
+     * The former table of meal IDs by day name.
+     */
+    static final String LEGACY_MEALS_TABLE = "weekly_plan_meals";
+
+    /**
+     * The former table of portion sizes by day name.
+     */
+    static final String LEGACY_PORTION_SIZES_TABLE = "weekly_plan_portion_sizes";
+
+    /**
+     * Maps a legacy day name to the ordinal of its {@link java.time.DayOfWeek},
+     * or null for names that are not a day.
+     */
+    private static final String DAY_ORDINAL = "CASE LOWER(TRIM(m.day)) WHEN 'monday' THEN 0 WHEN 'tuesday' THEN 1 "
+            + "WHEN 'wednesday' THEN 2 WHEN 'thursday' THEN 3 WHEN 'friday' THEN 4 WHEN 'saturday' THEN 5 "
+            + "WHEN 'sunday' THEN 6 END";
+
+    /**
+     * Template for the migration's statements.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs the copy in one transaction.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Copies the days of the former schema, if it still exists, and drops its
+     * tables.
+     *
+     * @return the number of days migrated
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int migrate() {
+        if (!tableExists(LEGACY_MEALS_TABLE)) {
+            return 0;
+        }
+        boolean hasPortionSizes = tableExists(LEGACY_PORTION_SIZES_TABLE);
+        String portionSize = hasPortionSizes
+                ? "CASE WHEN p.portion_size > 0 THEN p.portion_size ELSE 1 END"
+                : "1";
+        String portionJoin = hasPortionSizes
+                ? " LEFT JOIN " + LEGACY_PORTION_SIZES_TABLE
+                        + " p ON p.weekly_plan_id = m.weekly_plan_id AND p.day = m.day"
+                : "";
+        String insert = "INSERT INTO weekly_plan_days (weekly_plan_id, day_of_week, meal_id, portion_size) "
+                + "SELECT m.weekly_plan_id, " + DAY_ORDINAL + ", m.meal_id, " + portionSize
+                + " FROM " + LEGACY_MEALS_TABLE + " m" + portionJoin
+                + " WHERE m.meal_id IS NOT NULL AND " + DAY_ORDINAL + " IS NOT NULL"
+                + " AND NOT EXISTS (SELECT 1 FROM weekly_plan_days d WHERE d.weekly_plan_id = m.weekly_plan_id)";
+
+        Integer[] counts = transactionTemplate.execute(status -> new Integer[] {
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + LEGACY_MEALS_TABLE, Integer.class),
+                jdbcTemplate.update(insert)
+        });
+        if (hasPortionSizes) {
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_PORTION_SIZES_TABLE);
+        }
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_MEALS_TABLE);
+
+        int legacyRows = counts[0];
+        int migrated = counts[1];
+        logger.info("Migrated {} days of weekly plans to weekly_plan_days", migrated);
+        if (migrated < legacyRows) {
+            logger.warn("Dropped {} days of weekly plans without a meal, with an unknown day name or of plans "
+                    + "that were already migrated", legacyRows - migrated);
+        }
+        return migrated;
+    }
+
+    /**
+     * Returns whether a table exists in the application's schema.
+     *
+     * @param table the table name, in lower case
+     * @return true if the table exists
+     */
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, table,
+                    new String[] { "TABLE" })) {
+                return tables.next();
+            }
+        }));
+    }
+}
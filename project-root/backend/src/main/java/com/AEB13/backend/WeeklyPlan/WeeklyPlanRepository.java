@@ -1,9 +1,13 @@
 package com.AEB13.backend.WeeklyPlan;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,6 +16,48 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface WeeklyPlanRepository extends CrudRepository<WeeklyPlan, Long> {
 
+    /**
+     * Retrieves a weekly plan together with its days in a single query.
+     *
+     * @param id the ID of the plan
+     * @return an optional containing the plan if found, otherwise empty
+     */
+    @EntityGraph(attributePaths = "days")
+    @Query("SELECT p FROM WeeklyPlan p WHERE p.id = :id")
+    Optional<WeeklyPlan> findWithDaysById(@Param("id") Long id);
+
+    /**
+     * Retrieves several weekly plans together with their days in a single
+     * query.
+     *
+     * @param ids the IDs of the plans
+     * @return the plans that exist, in no particular order
+     */
+    @EntityGraph(attributePaths = "days")
+    @Query("SELECT p FROM WeeklyPlan p WHERE p.id IN :ids")
+    List<WeeklyPlan> findWithDaysByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the weekly plans of a range of weeks together with their days
+     * in a single query.
+     *
+     * @param fromWeek the first week, inclusive
+     * @param toWeek   the last week, inclusive
+     * @return the plans in week order
+     */
+    @EntityGraph(attributePaths = "days")
+    @Query("SELECT p FROM WeeklyPlan p WHERE p.week BETWEEN :fromWeek AND :toWeek ORDER BY p.week")
+    List<WeeklyPlan> findWithDaysByWeekBetween(@Param("fromWeek") int fromWeek, @Param("toWeek") int toWeek);
+
+    /**
+     * Retrieves all weekly plans together with their days in a single query.
+     *
+     * @return the plans in week order
+     */
+    @EntityGraph(attributePaths = "days")
+    @Query("SELECT p FROM WeeklyPlan p ORDER BY p.week")
+    List<WeeklyPlan> findAllWithDays();
+
     /**
      * Finds a weekly plan by its unique week number.
      *
@@ -0,0 +1,79 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.time.DayOfWeek;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Request body creating or replacing a weekly plan, in the same shape as a
+ * plan is returned: meal IDs and portion sizes keyed by day names such as
+ * "Monday".
+ *
+ * @param week         the week of the plan; ignored when replacing a plan
+ * @param meals        the meal IDs by day; days without a meal ID are not
+ *                     planned
+ * @param portionSizes the portion sizes by day; missing or null sizes
+ *                     default to 1, and sizes of days without a meal are
+ *                     ignored
+ */
+public record WeeklyPlanRequest(int week, Map<String, Long> meals, Map<String, Integer> portionSizes) {
+
+    /**
+     * Converts the request into the days of a plan. Portion sizes of days
+     * without a meal are ignored, as the edit page keeps the size of a day it
+     * clears.
+     *
+     * @return the planned meals by day
+     * @throws IllegalArgumentException if a day name is unknown or a portion
+     *                                  size is not positive
+     */
+    public SortedMap<DayOfWeek, PlannedMeal> toDays() {
+        Map<String, Integer> sizes = portionSizes != null ? portionSizes : Map.of();
+        Map<String, Long> mealIds = meals != null ? meals : Map.of();
+
+        SortedMap<DayOfWeek, PlannedMeal> days = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : mealIds.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            Integer portionSize = sizes.get(entry.getKey());
+            days.put(WeeklyPlan.parseDay(entry.getKey()),
+                    new PlannedMeal(entry.getValue(), checkPortionSize(portionSize != null ? portionSize : 1)));
+        }
+        return days;
+    }
+
+    /**
+     * Checks that every portion size belongs to a day listed in the meals, as
+     * required of a new plan.
+     *
+     * @throws IllegalArgumentException if a portion size is given for a day
+     *                                  that has no entry in the meals
+     */
+    void checkPortionSizesHaveDays() {
+        if (portionSizes == null) {
+            return;
+        }
+        for (String day : portionSizes.keySet()) {
+            if (meals == null || !meals.containsKey(day)) {
+                throw new IllegalArgumentException("Portion size specified for a day without a meal.");
+            }
+        }
+    }
+
+    /**
+     * Checks that a portion size scales ingredients up and never cancels them
+     * out.
+     *
+     * @param portionSize the portion size
+     * @return the portion size
+     * @throws IllegalArgumentException if it is not positive
+     */
+    static int checkPortionSize(int portionSize) {
+        if (portionSize < 1) {
+            throw new IllegalArgumentException("Portion sizes must be positive.");
+        }
+        return portionSize;
+    }
+}
@@ -1,22 +1,30 @@
 package com.AEB13.backend.WeeklyPlan;
 
+import java.time.DayOfWeek;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.AEB13.backend.Meal.Meal;
+import com.AEB13.backend.Meal.MealIngredientService;
 import com.AEB13.backend.Meal.MealRepository;
+import com.AEB13.backend.Meal.MealSummary;
+import com.AEB13.backend.Meal.ParsedIngredient;
 
 /**
  * Service class containing business logic for managing and generating data
@@ -31,18 +39,53 @@ public class WeeklyPlanService {
     @Autowired
     private WeeklyPlanRepository weeklyPlanRepository;
 
-    private static final Logger logger = LoggerFactory.getLogger(WeeklyPlanService.class);
+    /**
+     * Service providing the parsed ingredients of meals.
+     */
+    @Autowired
+    private MealIngredientService mealIngredientService;
 
     /**
-     * Repository to perform database operations on {@link Meal} entities.
+     * Repository providing the summaries of planned meals.
      */
     @Autowired
     private MealRepository mealRepository;
 
+    /**
+     * Cache of generated shopping lists, invalidated when a plan or one of its
+     * meals changes.
+     */
+    @Autowired
+    private ShoppingListCache shoppingListCache;
+
+    /**
+     * Runs plan edits in one transaction, so the loaded plan stays managed and
+     * only the changed day rows are written.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Largest number of plans or weeks a combined shopping list may cover.
+     */
+    @Value("${shopping-lists.max-plans:60}")
+    private int maxPlansPerShoppingList;
+
+    /**
+     * Largest number of weeks a page of listed plans may cover.
+     */
+    @Value("${weekly-plans.max-weeks-per-page:60}")
+    private int maxWeeksPerPage;
+
     /**
      * Generates a shopping list grouped by meals within a specified weekly plan.
      * <p>
-     * The default multiplier scales ingredient quantities for each meal.
+     * The default multiplier scales ingredient quantities for each meal. The
+     * plan and the ingredients of its meals are read with a fixed number of
+     * queries, however many days are planned. Days whose meal no longer exists
+     * or has no ingredients are reported as skipped. Generated lists are cached
+     * until one of the plan's meals changes; an update of the plan only
+     * replaces the contributions of the days it changes.
      * </p>
      *
      * @param weeklyPlanId      the ID of the weekly plan
@@ -51,294 +94,343 @@ public class WeeklyPlanService {
      * @throws IllegalStateException if no valid meals are found in the plan
      */
     public Map<String, Object> generateShoppingList(Long weeklyPlanId) {
-        WeeklyPlan weeklyPlan = getWeeklyPlan(weeklyPlanId);
-
-        Map<String, Integer> nonNumericCounts = new HashMap<>(); // New map for non-numeric counts
-        Map<String, Double> aggregatedIngredients = new HashMap<>();
-        List<String> skippedMeals = new ArrayList<>();
-
-        for (Map.Entry<String, Long> entry : weeklyPlan.getMeals().entrySet()) {
-            String day = entry.getKey();
-            Long mealId = entry.getValue();
-
-            try {
-                Optional<Meal> mealOptional = mealRepository.findById(mealId);
-
-                if (mealOptional.isEmpty()) {
-                    skippedMeals.add(day);
-                    continue;
-                }
-
-                Meal meal = mealOptional.get();
-
-                // Get scaling factor for the day or default to 1
-                Integer scalingFactor = weeklyPlan.getPortionSizes().getOrDefault(day, 1);
+        long epoch = shoppingListCache.epoch();
+        Map<String, Object> cached = shoppingListCache.get(weeklyPlanId);
+        if (cached != null) {
+            return cached;
+        }
 
-                // Parse and scale ingredients for the current meal
-                parseAndAggregateIngredients(meal.getIngredients(), aggregatedIngredients, scalingFactor,
-                        nonNumericCounts);
+        WeeklyPlan weeklyPlan = getWeeklyPlan(weeklyPlanId);
 
-            } catch (Exception e) {
-                logger.warn("Failed to process meal for {}: {}", day, e.getMessage());
-                skippedMeals.add(day);
-            }
-        }
+        // Load the ingredients of all planned meals at once instead of per day
+        Map<Long, List<ParsedIngredient>> ingredientsByMeal = mealIngredientService
+                .getIngredients(mealIds(weeklyPlan));
+        PlanShoppingList planShoppingList = PlanShoppingList.of(weeklyPlan, ingredientsByMeal);
 
-        if (aggregatedIngredients.isEmpty()) {
+        if (planShoppingList.isEmpty()) {
             throw new IllegalStateException("No valid meals found in the weekly plan");
         }
 
-        // Format the aggregated ingredients for output
-        Map<String, String> formattedIngredients = formatShoppingList(aggregatedIngredients, nonNumericCounts);
-
-        // Create the final shopping list result
-        Map<String, Object> shoppingListResult = new HashMap<>();
-        shoppingListResult.put("ingredients", formattedIngredients);
-        shoppingListResult.put("skippedMeals", skippedMeals);
-
+        // Format before handing the list to the cache, which may update it
+        Map<String, Object> shoppingListResult = planShoppingList.toShoppingList();
+        shoppingListCache.put(weeklyPlanId, planShoppingList, epoch);
         return shoppingListResult;
     }
 
     /**
-     * Parses the ingredient string from a Meal and accumulates scaled quantities in
-     * a consolidated map.
+     * Generates one shopping list over several weekly plans.
+     * <p>
+     * The plans and the ingredients of all their meals are read with a fixed
+     * number of queries. The plans are then added up in parallel on the
+     * fork/join pool and the partial lists merged, so the time spent on large
+     * plan sets scales with the number of cores. Skipped days are reported with
+     * their week, e.g. "Monday (week 12)".
+     * </p>
      *
-     * @param ingredients             the raw ingredient string from the Meal
-     * @param consolidatedIngredients the map to store scaled ingredient data
-     * @param multiplier              the scaling factor for each ingredient
-     * @param nonNumericCounts        the number of counts for no numeric quantities
+     * @param planIds the IDs of the weekly plans
+     * @return a map representing the shopping list, with the weeks of the
+     *         plans it covers
+     * @throws IllegalArgumentException if no or too many plans are requested,
+     *                                  or a plan does not exist
+     * @throws IllegalStateException    if no valid meals are found in the plans
      */
-    private void parseAndAggregateIngredients(String ingredients, Map<String, Double> consolidatedIngredients,
-            int multiplier, Map<String, Integer> nonNumericCounts) {
-        String[] items = ingredients.split(",");
-
-        for (String item : items) {
-            String[] parts = item.split(" - ");
-            if (parts.length == 2) {
-                String ingredient = parts[0].trim();
-                String quantityString = parts[1].trim();
-
-                try {
-                    java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(
-                            "^([\\d./¼½¾]+)\\s*([a-zA-Z]+|tsp|tbsp|kg|g|ml|oz|cup|teaspoon|tablespoon)?\\s*(\\(.*\\))?$",
-                            java.util.regex.Pattern.CASE_INSENSITIVE);
-                    java.util.regex.Matcher matcher = pattern.matcher(quantityString);
-
-                    if (matcher.find()) {
-                        String numericPart = matcher.group(1);
-                        String unit = matcher.group(2) != null ? normalizeUnit(matcher.group(2)) : "";
-                        String extraInfo = matcher.group(3) != null ? matcher.group(3).trim() : "";
-
-                        // Convert special fraction characters to numeric values
-                        numericPart = convertSpecialFractions(numericPart);
-
-                        double quantity = parseFraction(numericPart) * multiplier;
-
-                        // Combine unit with any extra information
-                        String fullUnit = unit + (extraInfo.isEmpty() ? "" : " " + extraInfo);
-
-                        // Key for the consolidated map: "ingredient (unit info)"
-                        String key = ingredient + (fullUnit.isEmpty() ? "" : " (" + fullUnit + ")");
-                        consolidatedIngredients.merge(key, quantity, (oldVal, newVal) -> Math.max(0, oldVal + newVal));
-                    } else {
-                        // Handle non-numeric quantities
-                        String key = ingredient + " (" + quantityString + ")";
-                        consolidatedIngredients.putIfAbsent(key, -1.0);
-                        nonNumericCounts.merge(key, multiplier, Integer::sum); // Add the multiplier to the count
-                    }
-                } catch (NumberFormatException e) {
-                    // Handle non-numeric quantities
-                    String key = ingredient + " (" + quantityString + ")";
-                    consolidatedIngredients.putIfAbsent(key, -1.0);
-                }
-            }
+    public Map<String, Object> generateShoppingList(Collection<Long> planIds) {
+        Set<Long> ids = new HashSet<>(planIds);
+        checkPlanCount(ids.size());
+        List<WeeklyPlan> plans = weeklyPlanRepository.findWithDaysByIdIn(ids);
+        if (plans.size() < ids.size()) {
+            Set<Long> missing = new TreeSet<>(ids);
+            plans.forEach(plan -> missing.remove(plan.getId()));
+            throw new IllegalArgumentException("Plans not found: " + missing);
         }
+        return generateShoppingList(plans);
     }
 
     /**
-     * Converts common fraction characters (¼, ½, ¾) to their numeric equivalents
-     * ("1/4", "1/2", "3/4").
+     * Generates one shopping list over the weekly plans of a range of weeks.
      *
-     * @param input the original string potentially containing special fraction
-     *              characters
-     * @return the string with special fractions replaced by numeric fractions
+     * @param fromWeek the first week, inclusive
+     * @param toWeek   the last week, inclusive
+     * @return a map representing the shopping list, with the weeks of the
+     *         plans it covers
+     * @throws IllegalArgumentException if the range is empty or covers too
+     *                                  many weeks
+     * @throws IllegalStateException    if no valid meals are found in the plans
+     * @see #generateShoppingList(Collection)
      */
-    private String convertSpecialFractions(String input) {
-        return input
-                .replace("¼", "1/4")
-                .replace("½", "1/2")
-                .replace("¾", "3/4");
+    public Map<String, Object> generateShoppingListForWeeks(int fromWeek, int toWeek) {
+        if (fromWeek > toWeek) {
+            throw new IllegalArgumentException("fromWeek must not be after toWeek.");
+        }
+        checkPlanCount((long) toWeek - fromWeek + 1);
+        return generateShoppingList(weeklyPlanRepository.findWithDaysByWeekBetween(fromWeek, toWeek));
     }
 
     /**
-     * Normalizes various unit strings to a standard format (e.g., "tablespoon" ->
-     * "tbsp").
+     * Adds up the shopping lists of several plans in parallel and merges them.
      *
-     * @param unit the original unit string
-     * @return a normalized unit string
+     * @param plans the plans, with their days loaded
+     * @return a map representing the shopping list
+     * @throws IllegalStateException if no valid meals are found in the plans
      */
-    private String normalizeUnit(String unit) {
-        if (unit == null)
-            return "";
-        unit = unit.toLowerCase().trim();
-        switch (unit) {
-            case "tsp":
-            case "teaspoon":
-                return "tsp";
-            case "tbsp":
-            case "tablespoon":
-                return "tbsp";
-            case "g":
-            case "gram":
-            case "grams":
-                return "g";
-            case "kg":
-            case "kilogram":
-            case "kilograms":
-                return "kg";
-            case "ml":
-            case "milliliter":
-            case "milliliters":
-                return "ml";
-            case "oz":
-            case "ounce":
-            case "ounces":
-                return "oz";
-            default:
-                return unit;
+    private Map<String, Object> generateShoppingList(List<WeeklyPlan> plans) {
+        List<WeeklyPlan> sortedPlans = new ArrayList<>(plans);
+        sortedPlans.sort(Comparator.comparing(WeeklyPlan::getWeek));
+
+        Set<Long> mealIds = new HashSet<>();
+        sortedPlans.forEach(plan -> mealIds.addAll(mealIds(plan)));
+        Map<Long, List<ParsedIngredient>> ingredientsByMeal = mealIngredientService.getIngredients(mealIds);
+
+        List<PlanShoppingList> planShoppingLists = sortedPlans.parallelStream()
+                .map(plan -> PlanShoppingList.of(plan, ingredientsByMeal))
+                .toList();
+        // Merge into fresh containers, leaving the plans' totals untouched
+        ShoppingListAggregate aggregate = planShoppingLists.parallelStream()
+                .map(PlanShoppingList::total)
+                .collect(ShoppingListAggregate::new, ShoppingListAggregate::merge, ShoppingListAggregate::merge);
+
+        if (aggregate.isEmpty()) {
+            throw new IllegalStateException("No valid meals found in the weekly plans");
         }
-    }
 
-    /**
-     * Parses a fraction or numeric string into a double.
-     * <p>
-     * Handles both fraction (e.g., "1/2") and decimal (e.g., "0.5") formats.
-     * </p>
-     *
-     * @param input the string to parse
-     * @return the numeric value
-     * @throws NumberFormatException if the format is invalid
-     */
-    private double parseFraction(String input) throws NumberFormatException {
-        if (input.contains("/")) {
-            String[] fractionParts = input.split("/");
-            if (fractionParts.length == 2) {
-                double numerator = Double.parseDouble(fractionParts[0].trim());
-                double denominator = Double.parseDouble(fractionParts[1].trim());
-                return numerator / denominator;
-            } else {
-                throw new NumberFormatException("Invalid fraction format");
-            }
+        List<String> skippedMeals = new ArrayList<>();
+        for (int i = 0; i < sortedPlans.size(); i++) {
+            int week = sortedPlans.get(i).getWeek();
+            planShoppingLists.get(i).skippedDays().forEach(day -> skippedMeals.add(day + " (week " + week + ")"));
         }
-        return Double.parseDouble(input);
+        Map<String, Object> shoppingListResult = aggregate.toShoppingList(skippedMeals);
+        shoppingListResult.put("weeks", sortedPlans.stream().map(WeeklyPlan::getWeek).toList());
+        return shoppingListResult;
     }
 
     /**
-     * Converts a map of scaled ingredients to a formatted map for display or
-     * output.
+     * Checks that a shopping list does not span more plans than allowed.
      *
-     * @param consolidatedIngredients the map containing ingredient keys and numeric
-     *                                values
-     * @param multiplier              the scaling factor used for the plan
-     * @param nonNumericCounts        the number of counts for no numeric quantities
-     * @return a map of ingredient keys and their formatted quantities
+     * @param count the number of plans or weeks requested
+     * @throws IllegalArgumentException if there are none or too many
      */
-    private Map<String, String> formatShoppingList(Map<String, Double> consolidatedIngredients,
-            Map<String, Integer> nonNumericCounts) {
-        Map<String, String> shoppingList = new HashMap<>();
-
-        for (Map.Entry<String, Double> entry : consolidatedIngredients.entrySet()) {
-            String ingredient = entry.getKey();
-            Double quantity = entry.getValue();
-
-            if (quantity != -1.0) {
-                shoppingList.put(ingredient, String.format("%.2f", quantity));
-            }
+    private void checkPlanCount(long count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one plan is required.");
         }
-
-        for (Map.Entry<String, Integer> entry : nonNumericCounts.entrySet()) {
-            String ingredient = entry.getKey();
-            Integer totalMultiplier = entry.getValue(); // Total count includes scaling
-            shoppingList.put(ingredient, totalMultiplier + "x " + ingredient.split("\\(")[1].replace(")", ""));
+        if (count > maxPlansPerShoppingList) {
+            throw new IllegalArgumentException(
+                    "A shopping list can cover at most " + maxPlansPerShoppingList + " plans.");
         }
-
-        return shoppingList;
     }
 
     /**
-     * Sorts a map of day-to-meal associations in a natural weekly order (Monday ->
-     * Sunday).
+     * Returns the IDs of the meals a plan references.
      *
-     * @param meals the unsorted map of days to meal IDs
-     * @return a new map sorted by day of the week
+     * @param weeklyPlan the plan
+     * @return the IDs of its planned meals
      */
-    private Map<String, Long> sortDays(Map<String, Long> meals) {
-        List<String> dayOrder = Arrays.asList("Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday",
-                "Sunday");
-        return meals.entrySet()
-                .stream()
-                .sorted(Comparator.comparingInt(entry -> dayOrder.indexOf(entry.getKey())))
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new));
+    private static Set<Long> mealIds(WeeklyPlan weeklyPlan) {
+        Set<Long> mealIds = new HashSet<>();
+        weeklyPlan.getDays().values().forEach(meal -> mealIds.add(meal.getMealId()));
+        return mealIds;
     }
 
     /**
-     * Retrieves a {@link WeeklyPlan} by its ID, sorting its meals by day.
+     * Retrieves a {@link WeeklyPlan} by its ID, with its days in weekly order
+     * read in the same query.
      *
      * @param id the ID of the plan
      * @return the retrieved plan
      * @throws RuntimeException if the plan does not exist
      */
     public WeeklyPlan getWeeklyPlan(Long id) {
-        WeeklyPlan weeklyPlan = weeklyPlanRepository.findById(id)
+        return weeklyPlanRepository.findWithDaysById(id)
                 .orElseThrow(() -> new RuntimeException("Plan with ID " + id + " not found"));
+    }
+
+    /**
+     * Retrieves a weekly plan with the summaries of its meals, using one query
+     * for the plan and one for the meals.
+     *
+     * @param id the ID of the plan
+     * @return the plan and its meal summaries
+     * @throws RuntimeException if the plan does not exist
+     */
+    public WeeklyPlanView getWeeklyPlanView(Long id) {
+        return toViews(List.of(getWeeklyPlan(id))).get(0);
+    }
 
-        // Sort the meals within the weekly plan by day
-        Map<String, Long> sortedMeals = sortDays(weeklyPlan.getMeals());
-        weeklyPlan.setMeals(sortedMeals);
+    /**
+     * Retrieves the weekly plans of a range of weeks with the summaries of
+     * their meals, using one query for the plans and one for all their meals.
+     *
+     * @param fromWeek the first week, inclusive
+     * @param toWeek   the last week, inclusive
+     * @return the plans of the range that exist, sorted by week
+     * @throws IllegalArgumentException if the range is empty or covers more
+     *                                  weeks than a page may
+     */
+    public List<WeeklyPlanView> getWeeklyPlanViews(int fromWeek, int toWeek) {
+        return toViews(getWeeklyPlans(fromWeek, toWeek));
+    }
 
-        return weeklyPlan;
+    /**
+     * Embeds the summaries of the planned meals into plans, reading the
+     * summaries of all plans with a single query.
+     *
+     * @param weeklyPlans the plans, with their days loaded
+     * @return the plans with their meal summaries, in the same order
+     */
+    private List<WeeklyPlanView> toViews(List<WeeklyPlan> weeklyPlans) {
+        Set<Long> mealIds = new HashSet<>();
+        weeklyPlans.forEach(plan -> mealIds.addAll(mealIds(plan)));
+        Map<Long, MealSummary> summaries = new HashMap<>();
+        if (!mealIds.isEmpty()) {
+            mealRepository.findSummariesByIdIn(mealIds).forEach(summary -> summaries.put(summary.id(), summary));
+        }
+
+        List<WeeklyPlanView> views = new ArrayList<>(weeklyPlans.size());
+        for (WeeklyPlan plan : weeklyPlans) {
+            Map<String, MealSummary> mealSummaries = new LinkedHashMap<>();
+            plan.getDays().forEach((day, meal) -> {
+                MealSummary summary = summaries.get(meal.getMealId());
+                if (summary != null) {
+                    mealSummaries.put(WeeklyPlan.dayName(day), summary);
+                }
+            });
+            views.add(new WeeklyPlanView(plan.getId(), plan.getWeek(), plan.getMeals(), plan.getPortionSizes(),
+                    mealSummaries));
+        }
+        return views;
     }
 
     /**
      * Creates a new weekly plan for a specified week, if it does not already exist.
      *
-     * @param weeklyPlan the new weekly plan to create
+     * @param request the week, meals and portion sizes of the new plan
      * @return the saved {@link WeeklyPlan} entity
      * @throws IllegalArgumentException if a plan for the specified week already
-     *                                  exists
+     *                                  exists, or a day or portion size is
+     *                                  invalid
      */
-    public WeeklyPlan createWeeklyPlan(WeeklyPlan weeklyPlan) {
-        Optional<WeeklyPlan> existingPlan = weeklyPlanRepository.findByWeek(weeklyPlan.getWeek());
+    public WeeklyPlan createWeeklyPlan(WeeklyPlanRequest request) {
+        Optional<WeeklyPlan> existingPlan = weeklyPlanRepository.findByWeek(request.week());
         if (existingPlan.isPresent()) {
             throw new IllegalArgumentException("A plan for this week already exists.");
         }
-        // Validate portion sizes
-        if (weeklyPlan.getPortionSizes() != null) {
-            for (String day : weeklyPlan.getPortionSizes().keySet()) {
-                if (!weeklyPlan.getMeals().containsKey(day)) {
-                    throw new IllegalArgumentException("Portion size specified for a day without a meal.");
-                }
-            }
-        }
+        request.checkPortionSizesHaveDays();
+        WeeklyPlan weeklyPlan = new WeeklyPlan();
+        weeklyPlan.setWeek(request.week());
+        weeklyPlan.setDays(request.toDays());
         return weeklyPlanRepository.save(weeklyPlan);
     }
 
     /**
      * Updates an existing weekly plan's day-to-meal mappings and saves it.
+     * <p>
+     * The new mappings are diffed against the stored ones, so only the rows of
+     * days that changed are inserted, updated or deleted. A cached shopping
+     * list of the plan is updated in place: only the ingredients of the meals
+     * on changed days are read, and only those days' contributions are
+     * replaced.
+     * </p>
      *
-     * @param id    the ID of the weekly plan to update
-     * @param meals the new mapping of days to meal IDs
+     * @param id      the ID of the weekly plan to update
+     * @param request the new mapping of days to meal IDs and portion sizes
      * @return the updated {@link WeeklyPlan} entity
+     * @throws IllegalArgumentException if a day or portion size is invalid
+     * @throws RuntimeException         if the plan does not exist
      */
-    public WeeklyPlan updateWeeklyPlan(Long id, WeeklyPlan weeklyPlan) {
-        WeeklyPlan plan = getWeeklyPlan(id);
-        plan.setMeals(weeklyPlan.getMeals());
-        plan.setPortionSizes(weeklyPlan.getPortionSizes());
-        return weeklyPlanRepository.save(plan);
+    public WeeklyPlan updateWeeklyPlan(Long id, WeeklyPlanRequest request) {
+        SortedMap<DayOfWeek, PlannedMeal> days = request.toDays();
+        return changeWeeklyPlan(id, plan -> {
+            plan.getDays().keySet().retainAll(days.keySet());
+            days.forEach((day, meal) -> {
+                if (!meal.equals(plan.getDays().get(day))) {
+                    plan.getDays().put(day, meal);
+                }
+            });
+        });
+    }
+
+    /**
+     * Plans a meal on one day of a weekly plan, writing only that day's row.
+     *
+     * @param id          the ID of the weekly plan
+     * @param day         the day
+     * @param mealId      the ID of the meal to plan
+     * @param portionSize the day's portion size, or null for the default of 1
+     * @return the updated {@link WeeklyPlan} entity
+     * @throws IllegalArgumentException if the meal ID is missing or the
+     *                                  portion size is not positive
+     * @throws RuntimeException         if the plan does not exist
+     */
+    public WeeklyPlan setDay(Long id, DayOfWeek day, Long mealId, Integer portionSize) {
+        if (mealId == null) {
+            throw new IllegalArgumentException("A meal ID is required.");
+        }
+        PlannedMeal meal = new PlannedMeal(mealId,
+                WeeklyPlanRequest.checkPortionSize(portionSize != null ? portionSize : 1));
+        return changeWeeklyPlan(id, plan -> {
+            if (!meal.equals(plan.getDays().get(day))) {
+                plan.getDays().put(day, meal);
+            }
+        });
+    }
+
+    /**
+     * Removes the meal and portion size of one day of a weekly plan. Clearing
+     * a day without a meal changes nothing.
+     *
+     * @param id  the ID of the weekly plan
+     * @param day the day
+     * @return the updated {@link WeeklyPlan} entity
+     * @throws RuntimeException if the plan does not exist
+     */
+    public WeeklyPlan clearDay(Long id, DayOfWeek day) {
+        return changeWeeklyPlan(id, plan -> plan.getDays().remove(day));
+    }
+
+    /**
+     * Applies a change to the managed collections of a plan within one
+     * transaction and brings its cached shopping list up to date.
+     * <p>
+     * The plan is read once with its days and changed in place, so Hibernate
+     * writes only the day rows whose value changed instead of merging a
+     * detached copy, which reads the plan again.
+     * </p>
+     *
+     * @param id     the ID of the weekly plan
+     * @param change the change to apply to the plan's days
+     * @return the updated plan
+     * @throws RuntimeException if the plan does not exist
+     */
+    private WeeklyPlan changeWeeklyPlan(Long id, Consumer<WeeklyPlan> change) {
+        long epoch = shoppingListCache.epoch();
+        Set<Long> changedMealIds = new HashSet<>();
+        WeeklyPlan savedPlan = transactionTemplate.execute(status -> {
+            WeeklyPlan plan = weeklyPlanRepository.findWithDaysById(id)
+                    .orElseThrow(() -> new RuntimeException("Plan with ID " + id + " not found"));
+            WeeklyPlan previous = new WeeklyPlan();
+            previous.setDays(new TreeMap<>(plan.getDays()));
+            change.accept(plan);
+            changedMealIds.addAll(PlanShoppingList.changedMealIds(previous, plan));
+            return plan;
+        });
+        updateShoppingList(savedPlan, changedMealIds, epoch);
+        return savedPlan;
+    }
+
+    /**
+     * Applies a change of a plan to its cached shopping list, if there is one.
+     *
+     * @param weeklyPlan     the changed plan
+     * @param changedMealIds the meals planned on the changed days
+     * @param epoch          the cache epoch taken before the plan was read
+     */
+    private void updateShoppingList(WeeklyPlan weeklyPlan, Set<Long> changedMealIds, long epoch) {
+        Map<Long, List<ParsedIngredient>> ingredientsByMeal = new HashMap<>();
+        if (shoppingListCache.contains(weeklyPlan.getId())) {
+            ingredientsByMeal.putAll(mealIngredientService.getIngredients(changedMealIds));
+            changedMealIds.forEach(mealId -> ingredientsByMeal.putIfAbsent(mealId, List.of()));
+        }
+        shoppingListCache.update(weeklyPlan, ingredientsByMeal, epoch);
     }
 
     /**
@@ -352,26 +444,37 @@ public class WeeklyPlanService {
             throw new RuntimeException("Plan with ID " + id + " does not exist");
         }
         weeklyPlanRepository.deleteById(id);
+        shoppingListCache.invalidatePlan(id);
     }
 
     /**
-     * Retrieves all weekly plans, sorts each plan's meals by day, and optionally
-     * sorts the plans by week.
+     * Retrieves all weekly plans, sorted by week. The plans and their days are
+     * read with one query, and the days of each plan are already in weekly
+     * order.
      *
      * @return a list of all sorted {@link WeeklyPlan} entities
      */
     public List<WeeklyPlan> getAllWeeklyPlans() {
-        List<WeeklyPlan> weeklyPlans = weeklyPlanRepository.findAll();
-
-        // Sort the meals in each weekly plan by day
-        weeklyPlans.forEach(plan -> {
-            Map<String, Long> sortedMeals = sortDays(plan.getMeals());
-            plan.setMeals(sortedMeals);
-        });
-
-        // Sort the list of weekly plans by their week number
-        weeklyPlans.sort(Comparator.comparing(WeeklyPlan::getWeek));
+        return weeklyPlanRepository.findAllWithDays();
+    }
 
-        return weeklyPlans;
+    /**
+     * Retrieves one page of weekly plans: those of a range of weeks, sorted by
+     * week and read with one query.
+     *
+     * @param fromWeek the first week, inclusive
+     * @param toWeek   the last week, inclusive
+     * @return the plans of the range that exist
+     * @throws IllegalArgumentException if the range is empty or covers more
+     *                                  weeks than a page may
+     */
+    public List<WeeklyPlan> getWeeklyPlans(int fromWeek, int toWeek) {
+        if (fromWeek > toWeek) {
+            throw new IllegalArgumentException("fromWeek must not be after toWeek.");
+        }
+        if ((long) toWeek - fromWeek + 1 > maxWeeksPerPage) {
+            throw new IllegalArgumentException("A page can cover at most " + maxWeeksPerPage + " weeks.");
+        }
+        return weeklyPlanRepository.findWithDaysByWeekBetween(fromWeek, toWeek);
     }
 }
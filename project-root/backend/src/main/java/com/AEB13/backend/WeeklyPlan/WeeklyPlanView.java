@@ -0,0 +1,24 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.util.Map;
+
+import com.AEB13.backend.Meal.MealSummary;
+
+/**
+ * A weekly plan together with the summaries of its meals, so a week can be
+ * rendered without requesting each meal separately.
+ * <p>
+ * The first four properties are those of a {@link WeeklyPlan}. The summaries
+ * are keyed by the same day names; days whose meal no longer exists have no
+ * summary.
+ * </p>
+ *
+ * @param id            the ID of the plan
+ * @param week          the week of the plan
+ * @param meals         the meal IDs by day, in weekly order
+ * @param portionSizes  the portion sizes by day, in weekly order
+ * @param mealSummaries the summaries of the planned meals by day
+ */
+public record WeeklyPlanView(Long id, int week, Map<String, Long> meals, Map<String, Integer> portionSizes,
+        Map<String, MealSummary> mealSummaries) {
+}
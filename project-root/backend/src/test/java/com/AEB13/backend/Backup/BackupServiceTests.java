@@ -0,0 +1,129 @@
+package com.AEB13.backend.Backup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.AEB13.backend.Meal.Meal;
+import com.AEB13.backend.Meal.MealRepository;
+import com.AEB13.backend.WeeklyPlan.PlannedMeal;
+import com.AEB13.backend.WeeklyPlan.WeeklyPlan;
+import com.AEB13.backend.WeeklyPlan.WeeklyPlanRepository;
+
+@DataJpaTest(properties = "backup.restore.batch-size=2")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BackupService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BackupServiceTests {
+
+	@Autowired
+	private BackupService backupService;
+
+	@Autowired
+	private MealRepository mealRepository;
+
+	@Autowired
+	private WeeklyPlanRepository weeklyPlanRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@TempDir
+	Path directory;
+
+	@BeforeEach
+	void clearData() {
+		weeklyPlanRepository.deleteAll();
+		mealRepository.deleteAll();
+	}
+
+	@Test
+	void restoresWhatWasExported() throws IOException {
+		Meal soup = meal("Soup", "Water - 1l");
+		soup.setFavorite(true);
+		soup.setCookedCount(4);
+		soup = mealRepository.save(soup);
+		Meal cake = mealRepository.save(meal("Cake", null));
+		Meal pie = mealRepository.save(meal("Pie \"deluxe\"\nwith newline", "Apples - 3"));
+
+		WeeklyPlan plan = new WeeklyPlan();
+		plan.setWeek(12);
+		plan.getDays().put(DayOfWeek.MONDAY, new PlannedMeal(soup.getId(), 2));
+		plan.getDays().put(DayOfWeek.FRIDAY, new PlannedMeal(cake.getId(), 4));
+		plan = weeklyPlanRepository.save(plan);
+		WeeklyPlan empty = new WeeklyPlan();
+		empty.setWeek(13);
+		empty = weeklyPlanRepository.save(empty);
+
+		Path file = directory.resolve("backup.ndjson");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		backupService.export(out);
+		Files.write(file, out.toByteArray());
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(6, lines.length);
+		assertTrue(lines[0].contains("\"type\":\"header\""));
+
+		weeklyPlanRepository.deleteAll();
+		mealRepository.deleteAll();
+		assertEquals(Map.of("meals", 3, "weeklyPlans", 2), backupService.restore(file));
+
+		Meal restored = mealRepository.findById(soup.getId()).orElseThrow();
+		assertEquals("Soup", restored.getName());
+		assertEquals("Water - 1l", restored.getIngredients());
+		assertTrue(restored.isFavorite());
+		assertEquals(4, restored.getCookedCount());
+		assertNull(mealRepository.findById(cake.getId()).orElseThrow().getIngredients());
+		assertEquals(pie.getName(), mealRepository.findById(pie.getId()).orElseThrow().getName());
+
+		Long planId = plan.getId();
+		Long emptyId = empty.getId();
+		Map<String, Long> expectedMeals = Map.of("Monday", soup.getId(), "Friday", cake.getId());
+		transactionTemplate.executeWithoutResult(status -> {
+			WeeklyPlan restoredPlan = weeklyPlanRepository.findById(planId).orElseThrow();
+			assertEquals(12, restoredPlan.getWeek());
+			assertEquals(expectedMeals, restoredPlan.getMeals());
+			assertEquals(Map.of("Monday", 2, "Friday", 4), restoredPlan.getPortionSizes());
+			assertTrue(weeklyPlanRepository.findById(emptyId).orElseThrow().getMeals().isEmpty());
+		});
+
+		// New meals get ids above the restored ones
+		Meal stew = mealRepository.save(meal("Stew", null));
+		assertTrue(stew.getId() > pie.getId());
+	}
+
+	@Test
+	void refusesToRestoreOverExistingData() throws IOException {
+		mealRepository.save(meal("Soup", null));
+		Path file = Files.writeString(directory.resolve("empty.ndjson"), "");
+		assertThrows(IllegalStateException.class, () -> backupService.restore(file));
+	}
+
+	private static Meal meal(String name, String ingredients) {
+		Meal meal = new Meal();
+		meal.setName(name);
+		meal.setIngredients(ingredients);
+		return meal;
+	}
+}
@@ -0,0 +1,165 @@
+package com.AEB13.backend.Catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.AEB13.backend.Meal.Meal;
+import com.AEB13.backend.MealDB.MealDBClient;
+import com.AEB13.backend.MealDB.MealDBClientConfig;
+import com.AEB13.backend.MealDB.MealDBResponseParser;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the catalog mirror against a local HTTP server standing in for
+ * TheMealDB.
+ */
+@DataJpaTest(properties = "themealdb.mirror.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CatalogMirrorService.class, MealDBClient.class, MealDBClientConfig.class, MealDBResponseParser.class })
+class CatalogMirrorServiceTests {
+
+	/**
+	 * Stub responses by request path and query.
+	 */
+	private static final Map<String, String> responses = new ConcurrentHashMap<>();
+
+	private static final HttpServer server = startServer();
+
+	@Autowired
+	private CatalogMirrorService catalogMirrorService;
+
+	@Autowired
+	private CatalogMealRepository catalogMealRepository;
+
+	@Autowired
+	private MealDBClient mealDBClient;
+
+	@DynamicPropertySource
+	static void mealDBProperties(DynamicPropertyRegistry registry) {
+		registry.add("themealdb.api.url", () -> "http://localhost:" + server.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopServer() {
+		server.stop(0);
+	}
+
+	@BeforeEach
+	void stubCatalog() {
+		responses.clear();
+		mealDBClient.clearCache();
+		responses.put("/list.php?c=list", "{\"meals\":[{\"strCategory\":\"Seafood\"},{\"strCategory\":\"Dessert\"}]}");
+		responses.put("/list.php?a=list", "{\"meals\":[{\"strArea\":\"British\"}]}");
+		responses.put("/filter.php?c=Seafood", meals(summary(1, "Fish pie"), summary(2, "Kedgeree")));
+		responses.put("/filter.php?c=Dessert", meals(summary(3, "Eton Mess")));
+		responses.put("/filter.php?a=British", meals(summary(1, "Fish pie"), summary(3, "Eton Mess")));
+		responses.put("/lookup.php?i=1", "{\"meals\":[{\"idMeal\":\"1\",\"strMeal\":\"Fish pie\","
+				+ "\"strInstructions\":\"Bake it.\",\"strIngredient1\":\"Cod\",\"strMeasure1\":\"500g\"}]}");
+		responses.put("/lookup.php?i=2", "{\"meals\":null}");
+		responses.put("/lookup.php?i=3", "{\"meals\":null}");
+	}
+
+	@Test
+	void importsCatalogAndAnswersFromLocalStore() {
+		assertTrue(catalogMirrorService.refresh());
+		assertTrue(catalogMirrorService.isReady());
+
+		assertEquals(List.of("Dessert", "Seafood"), catalogMirrorService.getCategoryNames());
+		assertEquals(List.of("Fish pie", "Kedgeree"), names(catalogMirrorService.findMeals("seafood", null)));
+		assertEquals(List.of("Eton Mess", "Fish pie"), names(catalogMirrorService.findMeals(null, "British")));
+		assertEquals(List.of("Kedgeree"), names(catalogMirrorService.searchMealsByName("kedg")));
+
+		CatalogMeal fishPie = catalogMealRepository.findById(1L).orElseThrow();
+		assertTrue(fishPie.isDetailsLoaded());
+		assertEquals("Cod - 500g", fishPie.getIngredients());
+		assertEquals("British", fishPie.getArea());
+	}
+
+	@Test
+	void refreshRemovesDelistedMealsAndKeepsMirrorWhenUpstreamFails() {
+		assertTrue(catalogMirrorService.refresh());
+
+		mealDBClient.clearCache();
+		responses.put("/filter.php?c=Seafood", meals(summary(1, "Fish pie")));
+		assertTrue(catalogMirrorService.refresh());
+		assertFalse(catalogMealRepository.existsById(2L));
+
+		mealDBClient.clearCache();
+		responses.remove("/list.php?a=list");
+		assertFalse(catalogMirrorService.refresh());
+		assertEquals(2, catalogMealRepository.count());
+	}
+
+	@Test
+	void failedDetailLookupLeavesMirrorUnchanged() {
+		assertTrue(catalogMirrorService.refresh());
+
+		// A new category whose only meal cannot be looked up
+		mealDBClient.clearCache();
+		responses.put("/list.php?c=list", "{\"meals\":[{\"strCategory\":\"Seafood\"},"
+				+ "{\"strCategory\":\"Dessert\"},{\"strCategory\":\"Beef\"}]}");
+		responses.put("/filter.php?c=Beef", meals(summary(5, "Beef Wellington")));
+		responses.put("/filter.php?c=Seafood", meals(summary(1, "Fish pie")));
+		assertFalse(catalogMirrorService.refresh());
+
+		assertEquals(List.of("Dessert", "Seafood"), catalogMirrorService.getCategoryNames());
+		assertFalse(catalogMealRepository.existsById(5L));
+		assertTrue(catalogMealRepository.existsById(2L));
+	}
+
+	private static String summary(long id, String name) {
+		return "{\"strMeal\":\"" + name + "\",\"strMealThumb\":\"https://example.org/" + id + ".jpg\",\"idMeal\":\""
+				+ id + "\"}";
+	}
+
+	private static String meals(String... summaries) {
+		return "{\"meals\":[" + String.join(",", summaries) + "]}";
+	}
+
+	private static List<String> names(List<Meal> meals) {
+		return meals.stream().map(Meal::getName).collect(Collectors.toList());
+	}
+
+	private static HttpServer startServer() {
+		try {
+			HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			httpServer.createContext("/", exchange -> {
+				String body = responses.get(exchange.getRequestURI().getPath() + "?"
+						+ exchange.getRequestURI().getRawQuery());
+				byte[] bytes = (body != null ? body : "").getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(body != null ? 200 : 500, bytes.length > 0 ? bytes.length : -1);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(bytes);
+				}
+			});
+			httpServer.start();
+			return httpServer;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.AEB13.backend.Meal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the hand-written {@link IngredientParser} with the previous
+ * regex-based parsing of a meal's ingredient text.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation rates:
+ * {@code mvn -P jmh -DskipTests test-compile exec:exec -Djmh.args="IngredientParserBenchmark -prof gc"}
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngredientParserBenchmark {
+
+    /**
+     * Measures in the shapes found in TheMealDB, cycled through to build the
+     * ingredient text.
+     */
+    private static final String[] MEASURES = { "200g", "1½ cups", "2 tbsp", "1/2 tsp (ground)", "3",
+            "to taste", "0.5 kg", "100 ml", "pinch", "2 tablespoon (softened)" };
+
+    /**
+     * Number of ingredients in the text.
+     */
+    @Param({ "10", "20" })
+    private int ingredients;
+
+    private String text;
+
+    @Setup
+    public void createText() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ingredients; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("Ingredient ").append(i).append(" - ").append(MEASURES[i % MEASURES.length]);
+        }
+        text = builder.toString();
+    }
+
+    @Benchmark
+    public List<ParsedIngredient> scanner() {
+        return IngredientParser.parse(text);
+    }
+
+    /**
+     * The previous implementation: two {@link String#split} calls per item, a
+     * regex match per measure and string replacements for fraction glyphs.
+     */
+    @Benchmark
+    public List<ParsedIngredient> regex() {
+        return RegexIngredientParser.parse(text);
+    }
+}
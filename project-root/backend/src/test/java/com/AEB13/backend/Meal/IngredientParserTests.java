@@ -0,0 +1,66 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IngredientParserTests {
+
+	@Test
+	void parsesQuantitiesUnitsAndNotes() {
+		assertEquals(List.of(
+				new ParsedIngredient("Flour", 200.0, "g", ""),
+				new ParsedIngredient("Sugar", 1.5, "tbsp", ""),
+				new ParsedIngredient("Milk", 0.5, "cup", "(warm)"),
+				new ParsedIngredient("Eggs", 3.0, "", "")),
+				IngredientParser.parse("Flour - 200 grams, Sugar - 1.5 tablespoon, Milk - ½ cup (warm), Eggs - 3"));
+	}
+
+	@Test
+	void keepsNonNumericMeasuresAsText() {
+		assertEquals(List.of(
+				new ParsedIngredient("Salt", null, null, "to taste"),
+				new ParsedIngredient("Butter", null, null, "1/2/3 cup")),
+				IngredientParser.parse("Salt - to taste, Butter - 1/2/3 cup"));
+	}
+
+	@Test
+	void skipsItemsWithoutSingleSeparator() {
+		assertEquals(List.of(new ParsedIngredient("Rice", 250.0, "g", "")),
+				IngredientParser.parse("Water, Rice - 250g, Oil - 1 - 2 tbsp"));
+		assertTrue(IngredientParser.parse(null).isEmpty());
+	}
+
+	@Test
+	void matchesRegexParserOnEdgeCases() {
+		for (String ingredients : List.of(
+				"Flour - 1½ cups, Sugar - 1/2/, Oil - /2, Salt - 1//2, Butter - ., Milk - 1.",
+				"Eggs - .5, Rice - 0000000000000000012.50000 g, Pepper - 1.2.3 tsp, Water - 3/0",
+				" - 2 cups, Beans - , Corn - 2 -  - , Peas - 1 - 2, Leeks - 1 - ",
+				"Yeast - 7g (dried)x, Ham - 2 SLICES (thin), Jam - 2 Tbsp(ish), Figs - 2 (a\nb)",
+				"Tea - 2 bags\u2028, Nuts - 5 g \u2029, Kale - 1 bunch (big)\u0085",
+				"Figs - 2 2 g, Dates - 2g2, Limes - ¾¼, Plums - 12345678901234567890/3",
+				"Beef - 1e5 g, Lamb - 1 kg, Fish - 1\tkg\t(fresh)")) {
+			assertEquals(RegexIngredientParser.parse(ingredients), IngredientParser.parse(ingredients), ingredients);
+		}
+	}
+
+	@Test
+	void matchesRegexParserOnRandomInput() {
+		String alphabet = "0123456789./¼½¾ ,-()gGkKmlzxTtsbp\t\u2028é";
+		Random random = new Random(42);
+		for (int n = 0; n < 20000; n++) {
+			StringBuilder ingredients = new StringBuilder("Item - ");
+			int length = random.nextInt(16);
+			for (int i = 0; i < length; i++) {
+				ingredients.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			String text = ingredients.toString();
+			assertEquals(RegexIngredientParser.parse(text), IngredientParser.parse(text), text);
+		}
+	}
+}
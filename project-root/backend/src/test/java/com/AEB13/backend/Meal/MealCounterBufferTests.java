@@ -0,0 +1,66 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MealCounterBufferTests {
+
+	private final MealRepository mealRepository = mock(MealRepository.class);
+
+	@Test
+	void coalescesEventsIntoOneUpdatePerIncrement() {
+		MealCounterBuffer buffer = new MealCounterBuffer(mealRepository, 100);
+		for (int i = 0; i < 5; i++) {
+			buffer.record(1L, MealCounterBuffer.Counter.SAVED);
+		}
+		buffer.recordAll(List.of(2L, 3L), MealCounterBuffer.Counter.SAVED);
+		buffer.record(2L, MealCounterBuffer.Counter.COOKED);
+
+		assertEquals(8, buffer.flush());
+		verify(mealRepository).incrementSavedCounts(List.of(1L), 5);
+		verify(mealRepository).incrementSavedCounts(List.of(2L, 3L), 1);
+		verify(mealRepository).incrementCookedCounts(List.of(2L), 1);
+		assertEquals(3L, buffer.getStatistics().get("updates"));
+
+		assertEquals(0, buffer.flush());
+		verify(mealRepository, times(2)).incrementSavedCounts(anyCollection(), anyInt());
+	}
+
+	@Test
+	void producersFlushWhenTheQueueIsFull() {
+		MealCounterBuffer buffer = new MealCounterBuffer(mealRepository, 2);
+		buffer.record(1L, MealCounterBuffer.Counter.COOKED);
+		buffer.record(1L, MealCounterBuffer.Counter.COOKED);
+		verify(mealRepository, never()).incrementCookedCounts(anyCollection(), anyInt());
+
+		buffer.record(1L, MealCounterBuffer.Counter.COOKED);
+		verify(mealRepository).incrementCookedCounts(List.of(1L), 2);
+		assertEquals(1L, buffer.getStatistics().get("queued"));
+		assertEquals(1L, buffer.getStatistics().get("producerFlushes"));
+	}
+
+	@Test
+	void keepsIncrementsWhenAFlushFails() {
+		MealCounterBuffer buffer = new MealCounterBuffer(mealRepository, 10);
+		when(mealRepository.incrementSavedCounts(anyCollection(), anyInt()))
+				.thenThrow(new IllegalStateException("database down"))
+				.thenReturn(1);
+		buffer.record(4L, MealCounterBuffer.Counter.SAVED);
+		assertEquals(0, buffer.flush());
+
+		buffer.record(4L, MealCounterBuffer.Counter.SAVED);
+		buffer.shutdown();
+		verify(mealRepository).incrementSavedCounts(List.of(4L), 2);
+		assertEquals(2L, buffer.getStatistics().get("written"));
+	}
+}
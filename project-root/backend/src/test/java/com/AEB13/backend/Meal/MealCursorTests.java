@@ -0,0 +1,63 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MealCursorTests {
+
+	@Test
+	void roundTripsThroughToken() {
+		MealCursor cursor = MealCursor.after(MealSort.NAME, meal(7L, "Fish: Pie", 3));
+		MealCursor decoded = MealCursor.decode(cursor.encode(), MealSort.NAME);
+		assertEquals(cursor, decoded);
+
+		MealCursor byCount = MealCursor.decode(MealCursor.after(MealSort.SAVED_COUNT, meal(2L, "Soup", 5)).encode(),
+				MealSort.SAVED_COUNT);
+		assertEquals(5, byCount.savedCount());
+		assertEquals(2L, byCount.id());
+	}
+
+	@Test
+	void rejectsMalformedAndForeignCursors() {
+		String byName = MealCursor.after(MealSort.NAME, meal(1L, "Soup", 0)).encode();
+		assertThrows(IllegalArgumentException.class, () -> MealCursor.decode(byName, MealSort.ID));
+		assertThrows(IllegalArgumentException.class, () -> MealCursor.decode("not a cursor!", MealSort.ID));
+		assertThrows(IllegalArgumentException.class, () -> MealSort.fromParameter("price"));
+		assertEquals(MealSort.ID, MealSort.fromParameter(null));
+	}
+
+	@Test
+	void isBeforeFollowsSortOrderWithIdTieBreaker() {
+		MealCursor cursor = MealCursor.after(MealSort.SAVED_COUNT, meal(5L, "Soup", 3));
+		assertTrue(cursor.isBefore(meal(6L, "Stew", 3)));
+		assertTrue(cursor.isBefore(meal(1L, "Cake", 2)));
+		assertFalse(cursor.isBefore(meal(4L, "Pie", 3)));
+		assertFalse(cursor.isBefore(meal(9L, "Tart", 4)));
+	}
+
+	@Test
+	void pagesEndWithCursorOnlyWhenMoreItemsExist() {
+		List<MealSummary> meals = new ArrayList<>();
+		for (long id = 1; id <= 5; id++) {
+			meals.add(meal(id, "Meal " + id, 0));
+		}
+		MealPage<MealSummary> first = MealPage.of(meals.subList(0, 3), 2, meal -> MealCursor.after(MealSort.ID, meal));
+		assertEquals(2, first.items().size());
+		assertEquals(2L, MealCursor.decode(first.nextCursor(), MealSort.ID).id());
+
+		MealPage<MealSummary> last = MealPage.of(meals.subList(3, 5), 2, meal -> MealCursor.after(MealSort.ID, meal));
+		assertNull(last.nextCursor());
+	}
+
+	private static MealSummary meal(Long id, String name, int savedCount) {
+		return new MealSummary(id, name, null, null, null, null, savedCount, false, false);
+	}
+}
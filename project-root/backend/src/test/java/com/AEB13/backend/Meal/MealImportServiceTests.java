@@ -0,0 +1,102 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = "meals.import.batch-size=2")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ MealImportService.class, MealIngredientService.class, MealSearchIndex.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MealImportServiceTests {
+
+	@Autowired
+	private MealImportService mealImportService;
+
+	@Autowired
+	private MealRepository mealRepository;
+
+	@Autowired
+	private MealSearchIndex mealSearchIndex;
+
+	@Autowired
+	private MealIngredientRepository mealIngredientRepository;
+
+	@BeforeEach
+	void clearMeals() {
+		mealIngredientRepository.deleteAll();
+		mealRepository.deleteAll();
+		mealSearchIndex.rebuild();
+		Meal soup = new Meal();
+		soup.setName("Soup");
+		mealRepository.save(soup);
+	}
+
+	@Test
+	void importsJsonArrayReportingEachMeal() throws IOException {
+		MealImportReport report = mealImportService.importMeals(stream("""
+				[
+				  {"id": 999, "name": "Cake", "category": "Dessert", "ingredients": "Flour - 200g"},
+				  {"name": "Pie"},
+				  {"name": "Soup"},
+				  {"name": "CAKE"},
+				  {"category": "Nameless"},
+				  {"name": "Stew", "savedCount": 3}
+				]
+				"""));
+
+		assertEquals(3, report.created());
+		assertEquals(2, report.duplicates());
+		assertEquals(1, report.invalid());
+		assertEquals(List.of(MealImportResult.Status.CREATED, MealImportResult.Status.CREATED,
+				MealImportResult.Status.DUPLICATE, MealImportResult.Status.DUPLICATE,
+				MealImportResult.Status.INVALID, MealImportResult.Status.CREATED),
+				report.results().stream().map(MealImportResult::status).toList());
+
+		Long cakeId = report.results().get(0).id();
+		assertNotNull(cakeId);
+		assertTrue(cakeId != 999L);
+		assertEquals("Dessert", mealRepository.findById(cakeId).orElseThrow().getCategory());
+		assertEquals(3, mealRepository.findByName("Stew").getSavedCount());
+		assertEquals(4, mealRepository.count());
+		assertEquals(List.of(cakeId), mealSearchIndex.search("cake", null, 10));
+		assertTrue(mealRepository.findById(cakeId).orElseThrow().isIngredientsParsed());
+		assertEquals(List.of(new ParsedIngredient("Flour", 200.0, "g", "")),
+				mealIngredientRepository.findByMealIdOrderByPosition(cakeId).stream()
+						.map(MealIngredient::toParsed).toList());
+	}
+
+	@Test
+	void importsNdjsonAndSkipsUnreadableLines() throws IOException {
+		MealImportReport report = mealImportService.importMeals(stream("""
+				{"name": "Curry"}
+				{"name": "Broken", "savedCount": "many"}
+				{"name": "Risotto"}
+				"""));
+
+		assertEquals(2, report.created());
+		assertEquals(1, report.invalid());
+		assertEquals(MealImportResult.Status.INVALID, report.results().get(1).status());
+		assertNotNull(mealRepository.findByName("Risotto"));
+	}
+
+	private static ByteArrayInputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+}
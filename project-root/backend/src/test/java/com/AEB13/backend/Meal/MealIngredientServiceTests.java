@@ -0,0 +1,84 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = "meals.ingredients.migration-batch-size=2")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MealIngredientService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MealIngredientServiceTests {
+
+	@Autowired
+	private MealIngredientService mealIngredientService;
+
+	@Autowired
+	private MealRepository mealRepository;
+
+	@Autowired
+	private MealIngredientRepository mealIngredientRepository;
+
+	@BeforeEach
+	void clearMeals() {
+		mealIngredientRepository.deleteAll();
+		mealRepository.deleteAll();
+	}
+
+	@Test
+	void storesIngredientsOnce() {
+		Meal pancakes = save("Pancakes", "Flour - 200g, Salt - pinch");
+
+		assertTrue(mealIngredientService.storeIngredients(pancakes));
+		assertFalse(mealIngredientService.storeIngredients(pancakes));
+
+		Meal stored = mealRepository.findById(pancakes.getId()).orElseThrow();
+		assertTrue(stored.isIngredientsParsed());
+		assertEquals(List.of(
+				new ParsedIngredient("Flour", 200.0, "g", ""),
+				new ParsedIngredient("Salt", null, null, "pinch")),
+				mealIngredientService.getIngredients(stored));
+	}
+
+	@Test
+	void parsesUnmigratedMealsOnDemand() {
+		Meal soup = save("Soup", "Water - 1 l");
+
+		assertTrue(mealIngredientRepository.findByMealIdOrderByPosition(soup.getId()).isEmpty());
+		assertEquals(List.of(new ParsedIngredient("Water", 1.0, "l", "")),
+				mealIngredientService.getIngredients(soup));
+	}
+
+	@Test
+	void migratesExistingMealsInBatches() {
+		Meal first = save("Curry", "Rice - 250g");
+		save("Stew", "Beef - 1 kg");
+		save("Salad", null);
+		mealIngredientService.storeIngredients(first);
+
+		assertEquals(2, mealIngredientService.migrate());
+		assertEquals(0, mealIngredientService.migrate());
+		assertEquals(2, mealIngredientRepository.count());
+		assertTrue(mealRepository.findAll().stream().allMatch(Meal::isIngredientsParsed));
+	}
+
+	private Meal save(String name, String ingredients) {
+		Meal meal = new Meal();
+		meal.setName(name);
+		meal.setIngredients(ingredients);
+		return mealRepository.save(meal);
+	}
+}
@@ -0,0 +1,172 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.AEB13.backend.Meal.MealRepositoryTests$RecordingStatementInspector")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MealRepositoryTests {
+
+	@Autowired
+	private MealRepository mealRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private List<Meal> saved;
+
+	/**
+	 * Records the SQL statements Hibernate prepares.
+	 */
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		static final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+
+	@BeforeEach
+	void saveMeals() {
+		mealRepository.deleteAll();
+		saved = List.of(
+				mealRepository.save(meal("Soup", "Starter", 2, true, false)),
+				mealRepository.save(meal("Cake", "Baking", 5, false, false)),
+				mealRepository.save(meal("Pie", "Baking", 2, false, true)));
+	}
+
+	@Test
+	void summariesCarryListFieldsOnly() {
+		List<MealSummary> summaries = mealRepository.findAllSummaries();
+		assertEquals(3, summaries.size());
+		MealSummary soup = summaries.get(0);
+		assertEquals("Soup", soup.name());
+		assertEquals("Soup.jpg", soup.thumbnail());
+		assertTrue(soup.favorite());
+		assertEquals(2, soup.savedCount());
+
+		List<MealSummary> byId = mealRepository.findSummaries(List.of(saved.get(2).getId()), null, null, null, 10);
+		assertEquals(List.of("Pie"), byId.stream().map(MealSummary::name).toList());
+	}
+
+	@Test
+	void keysetPagesFollowEachOther() {
+		List<MealSummary> first = mealRepository.findFirstPageByName(PageRequest.ofSize(2));
+		assertEquals(List.of("Cake", "Pie"), first.stream().map(MealSummary::name).toList());
+		MealSummary last = first.get(1);
+		assertEquals(List.of("Soup"), mealRepository.findPageByName(last.name(), last.id(), PageRequest.ofSize(2))
+				.stream().map(MealSummary::name).toList());
+
+		List<MealSummary> popular = mealRepository.findFirstPageBySavedCount(PageRequest.ofSize(2));
+		assertEquals(List.of("Cake", "Soup"), popular.stream().map(MealSummary::name).toList());
+		MealSummary soup = popular.get(1);
+		assertEquals(List.of("Pie"), mealRepository.findPageBySavedCount(soup.savedCount(), soup.id(),
+				PageRequest.ofSize(2)).stream().map(MealSummary::name).toList());
+	}
+
+	@Test
+	void findsSummariesBySetFiltersOnly() {
+		assertEquals(List.of("Cake", "Pie"), names(mealRepository.findSummaries(null, "Baking", null, null, 10)));
+		assertEquals(List.of("Soup"), names(mealRepository.findSummaries(null, null, true, null, 10)));
+		assertEquals(List.of("Pie"), names(mealRepository.findSummaries(null, "Baking", null, true, 10)));
+		assertEquals(List.of("Cake"), names(mealRepository.findSummaries(null, null, null, null, 1)));
+	}
+
+	@Test
+	void upsertInsertsNewMealsAndCountsRepeatedSaves() {
+		Meal stew = meal("Stew", "Beef", 0, true, true);
+		mealRepository.upsertSaved(stew);
+		Meal inserted = mealRepository.findByName("Stew");
+		assertEquals(1, inserted.getSavedCount());
+		assertFalse(inserted.isFavorite());
+		assertFalse(inserted.isCustom());
+
+		mealRepository.upsertSaved(meal("Soup", "Starter", 0, false, false));
+		mealRepository.upsertSaved(meal("Soup", "Starter", 0, false, false));
+		assertEquals(4, mealRepository.findByName("Soup").getSavedCount());
+		assertEquals(4, mealRepository.count());
+	}
+
+	@Test
+	void updatesFlagsAndCountsInPlace() {
+		List<Long> ids = List.of(saved.get(0).getId(), saved.get(1).getId());
+		assertEquals(2, mealRepository.toggleFavorites(ids));
+		assertEquals(List.of("Cake"), names(mealRepository.findSummaries(null, null, true, null, 10)));
+
+		assertEquals(2, mealRepository.incrementCookedCounts(ids, 3));
+		assertEquals(1, mealRepository.incrementSavedCounts(List.of(saved.get(2).getId()), 2));
+		assertEquals(3, mealRepository.findByName("Soup").getCookedCount());
+		assertEquals(0, mealRepository.findByName("Pie").getCookedCount());
+		assertEquals(4, mealRepository.findByName("Pie").getSavedCount());
+		assertEquals(0, mealRepository.incrementCookedCounts(List.of(-1L), 1));
+	}
+
+	@Test
+	void filterQueriesUseTheMealIndexes() {
+		RecordingStatementInspector.statements.clear();
+		mealRepository.findByName("Soup");
+		assertTrue(explain(lastStatement(), "Soup").contains("uk_meals_name"));
+
+		RecordingStatementInspector.statements.clear();
+		mealRepository.findSummaries(null, "Baking", null, null, 10);
+		assertTrue(explain(lastStatement(), "Baking", 10).contains("idx_meals_category"));
+
+		RecordingStatementInspector.statements.clear();
+		mealRepository.findSummaries(null, null, true, null, 10);
+		assertTrue(explain(lastStatement(), true, 10).contains("idx_meals_favorite"));
+
+		RecordingStatementInspector.statements.clear();
+		mealRepository.findSummaries(null, null, null, true, 10);
+		assertTrue(explain(lastStatement(), true, 10).contains("idx_meals_is_custom"));
+	}
+
+	/**
+	 * Returns the query plan H2 chooses for a statement.
+	 */
+	private String explain(String sql, Object... parameters) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters))
+				.toLowerCase();
+	}
+
+	private static String lastStatement() {
+		List<String> statements = RecordingStatementInspector.statements;
+		return statements.get(statements.size() - 1);
+	}
+
+	private static List<String> names(List<MealSummary> summaries) {
+		return summaries.stream().map(MealSummary::name).toList();
+	}
+
+	private static Meal meal(String name, String category, int savedCount, boolean favorite, boolean custom) {
+		Meal meal = new Meal();
+		meal.setName(name);
+		meal.setCategory(category);
+		meal.setCustom(custom);
+		meal.setThumbnail(name + ".jpg");
+		meal.setIngredients("Water - 1l");
+		meal.setInstructions("Cook.");
+		meal.setSavedCount(savedCount);
+		meal.setFavorite(favorite);
+		return meal;
+	}
+}
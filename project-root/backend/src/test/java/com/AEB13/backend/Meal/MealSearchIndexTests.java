@@ -0,0 +1,59 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MealSearchIndexTests {
+
+	private MealSearchIndex index;
+
+	@BeforeEach
+	void indexMeals() {
+		index = new MealSearchIndex();
+		index.add(meal(1L, "Chicken Curry", "Chicken", "Chicken - 500g, Curry powder - 2 tbsp"));
+		index.add(meal(2L, "Beef Stew", "Beef", "Beef - 1kg, Carrots - 3"));
+		index.add(meal(3L, "Carrot Cake", "Dessert", "Carrots - 2, Flour - 200g"));
+		index.add(meal(4L, "Roast Chicken", "Chicken", "Chicken - 1, Lemon - 1"));
+	}
+
+	@Test
+	void matchesPrefixesAndTyposRankedByField() {
+		assertEquals(List.of(1L, 4L), index.search("chick", null, 10));
+		assertEquals(List.of(1L, 4L), index.search("chiken", null, 10));
+		// A carrot in the name ranks above carrots in the ingredients
+		assertEquals(List.of(3L, 2L), index.search("carrot", null, 10));
+	}
+
+	@Test
+	void requiresEveryQueryTermAndAppliesCategory() {
+		assertEquals(List.of(1L), index.search("chicken curry", null, 10));
+		assertEquals(List.of(2L), index.search("carrots", "beef", 10));
+		assertEquals(List.of(1L, 4L), index.search(null, "CHICKEN", 10));
+		assertTrue(index.search("pizza", null, 10).isEmpty());
+	}
+
+	@Test
+	void removesMealsAndUnusedTerms() {
+		index.remove(3L);
+		index.add(meal(2L, "Beef Stew", "Beef", "Beef - 1kg"));
+
+		assertTrue(index.search("carrot", null, 10).isEmpty());
+		assertTrue(index.search("cake", null, 10).isEmpty());
+		assertEquals(3, index.size());
+	}
+
+	private static Meal meal(Long id, String name, String category, String ingredients) {
+		Meal meal = new Meal();
+		meal.setId(id);
+		meal.setName(name);
+		meal.setCategory(category);
+		meal.setIngredients(ingredients);
+		return meal;
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.AEB13.backend.Meal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.AEB13.backend.Catalog.CatalogMirrorService;
+import com.AEB13.backend.MealDB.MealDBClient;
+import com.AEB13.backend.MealDB.MealDBClientConfig;
+import com.AEB13.backend.MealDB.MealDBResponseParser;
+
+@DataJpaTest(properties = { "meals.search.max-results=3",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.AEB13.backend.Meal.MealServiceTests$RecordingStatementInspector" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ MealService.class, MealSearchIndex.class, MealIngredientService.class, CatalogMirrorService.class,
+		MealDBClient.class, MealDBClientConfig.class, MealDBResponseParser.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MealServiceTests {
+
+	@Autowired
+	private MealService mealService;
+
+	@Autowired
+	private MealRepository mealRepository;
+
+	@Autowired
+	private MealSearchIndex mealSearchIndex;
+
+	/**
+	 * Records the SQL statements Hibernate prepares.
+	 */
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		static final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+
+	@BeforeEach
+	void clearMeals() {
+		mealRepository.deleteAll();
+	}
+
+	@Test
+	void categoryListingIsNotCutOffBySearchLimit() {
+		List<Meal> meals = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			meals.add(meal("Cake " + i, "Baking", i % 2 == 0));
+		}
+		mealRepository.saveAll(meals);
+		mealSearchIndex.rebuild();
+
+		assertEquals(10, mealService.searchLocalMeals(null, "Baking", null, null).size());
+		assertEquals(5, mealService.searchLocalMeals("", "Baking", true, null).size());
+		assertEquals(3, mealService.searchLocalMeals("cake", "Baking", null, null).size());
+	}
+
+	@Test
+	void flaggedTextSearchChecksCandidatesInBoundedChunks() {
+		List<Meal> meals = new ArrayList<>();
+		for (int i = 0; i < 2500; i++) {
+			meals.add(meal("Cake " + i, "Baking", i >= 2400));
+		}
+		mealRepository.saveAll(meals);
+		mealSearchIndex.rebuild();
+
+		RecordingStatementInspector.statements.clear();
+		List<MealSummary> favorites = mealService.searchLocalMeals("cake", null, true, null);
+
+		assertEquals(3, favorites.size());
+		assertTrue(favorites.stream().allMatch(MealSummary::favorite));
+		assertTrue(RecordingStatementInspector.statements.size() <= 3,
+				String.valueOf(RecordingStatementInspector.statements.size()));
+		// At most 1000 candidate ids, the flag and the row limit
+		for (String sql : RecordingStatementInspector.statements) {
+			assertTrue(sql.chars().filter(c -> c == '?').count() <= 1002, sql);
+		}
+	}
+
+	private static Meal meal(String name, String category, boolean favorite) {
+		Meal meal = new Meal();
+		meal.setName(name);
+		meal.setCategory(category);
+		meal.setFavorite(favorite);
+		return meal;
+	}
+}
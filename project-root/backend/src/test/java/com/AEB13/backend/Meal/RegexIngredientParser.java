@@ -0,0 +1,67 @@
+package com.AEB13.backend.Meal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex-based ingredient parser that {@link IngredientParser} replaced,
+ * kept as the reference its results and performance are compared against.
+ */
+final class RegexIngredientParser {
+
+    private static final Pattern MEASURE = Pattern.compile(
+            "^([\\d./¼½¾]+)\\s*([a-zA-Z]+|tsp|tbsp|kg|g|ml|oz|cup|teaspoon|tablespoon)?\\s*(\\(.*\\))?$",
+            Pattern.CASE_INSENSITIVE);
+
+    private RegexIngredientParser() {
+    }
+
+    static List<ParsedIngredient> parse(String ingredients) {
+        List<ParsedIngredient> parsed = new ArrayList<>();
+        if (ingredients == null) {
+            return parsed;
+        }
+        for (String item : ingredients.split(",")) {
+            String[] parts = item.split(" - ");
+            if (parts.length != 2) {
+                continue;
+            }
+            String ingredient = parts[0].trim();
+            String measure = parts[1].trim();
+
+            Matcher matcher = MEASURE.matcher(measure);
+            Double quantity = null;
+            if (matcher.find()) {
+                try {
+                    quantity = parseFraction(matcher.group(1)
+                            .replace("¼", "1/4")
+                            .replace("½", "1/2")
+                            .replace("¾", "3/4"));
+                } catch (NumberFormatException e) {
+                    // Not a number after all, keep the measure as text
+                }
+            }
+            if (quantity != null) {
+                String unit = matcher.group(2) != null ? IngredientParser.normalizeUnit(matcher.group(2)) : "";
+                String note = matcher.group(3) != null ? matcher.group(3).trim() : "";
+                parsed.add(new ParsedIngredient(ingredient, quantity, unit, note));
+            } else {
+                parsed.add(new ParsedIngredient(ingredient, null, null, measure));
+            }
+        }
+        return parsed;
+    }
+
+    private static double parseFraction(String input) {
+        if (input.contains("/")) {
+            String[] fractionParts = input.split("/");
+            if (fractionParts.length == 2) {
+                return Double.parseDouble(fractionParts[0].trim()) / Double.parseDouble(fractionParts[1].trim());
+            }
+            throw new NumberFormatException("Invalid fraction format");
+        }
+        return Double.parseDouble(input);
+    }
+}
@@ -0,0 +1,45 @@
+package com.AEB13.backend.MealDB;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class MealDBCacheTests {
+
+	@Test
+	void returnsCachedBodyAndCountsHitsAndMisses() {
+		MealDBCache cache = new MealDBCache(10);
+
+		assertNull(cache.get("/list.php?c=list"));
+		cache.put("/list.php?c=list", "{\"meals\":[]}", 60);
+
+		assertEquals("{\"meals\":[]}", cache.get("/list.php?c=list"));
+		assertEquals(1L, cache.getStatistics().get("hits"));
+		assertEquals(1L, cache.getStatistics().get("misses"));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntryWhenFull() {
+		MealDBCache cache = new MealDBCache(2);
+		cache.put("a", "1", 60);
+		cache.put("b", "2", 60);
+		cache.get("a");
+		cache.put("c", "3", 60);
+
+		assertEquals("1", cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals("3", cache.get("c"));
+		assertEquals(1L, cache.getStatistics().get("evictions"));
+	}
+
+	@Test
+	void doesNotStoreEntriesWithoutTimeToLive() {
+		MealDBCache cache = new MealDBCache(2);
+		cache.put("a", "1", 0);
+
+		assertNull(cache.get("a"));
+		assertEquals(0L, cache.getStatistics().get("size"));
+	}
+
+}
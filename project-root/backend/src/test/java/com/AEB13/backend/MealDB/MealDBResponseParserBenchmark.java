@@ -0,0 +1,107 @@
+package com.AEB13.backend.MealDB;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.AEB13.backend.Meal.Meal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the streaming {@link MealDBResponseParser} with the previous
+ * tree-based parsing of TheMealDB responses.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation rates:
+ * {@code mvn -P jmh -DskipTests test-compile exec:exec -Djmh.args="MealDBResponseParserBenchmark -prof gc"}
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MealDBResponseParserBenchmark {
+
+    /**
+     * Number of meals in the response.
+     */
+    @Param({ "50", "500" })
+    private int meals;
+
+    /**
+     * "filter" for filter.php summaries, "search" for search.php responses
+     * carrying the full details of every meal.
+     */
+    @Param({ "filter", "search" })
+    private String payload;
+
+    private String body;
+
+    private final MealDBResponseParser parser = new MealDBResponseParser();
+
+    @Setup
+    public void createPayload() {
+        StringBuilder json = new StringBuilder("{\"meals\":[");
+        for (int i = 0; i < meals; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"idMeal\":\"").append(52700 + i).append("\",\"strMeal\":\"Meal number ").append(i)
+                    .append("\",");
+            if (payload.equals("search")) {
+                json.append("\"strDrinkAlternate\":null,\"strCategory\":\"Seafood\",\"strArea\":\"British\",")
+                        .append("\"strInstructions\":\"").append("Heat the oven. Mix everything together. ".repeat(20))
+                        .append("\",\"strTags\":\"Fish,Pie\",\"strYoutube\":\"https://www.youtube.com/watch?v=x\",");
+                for (int n = 1; n <= 20; n++) {
+                    json.append("\"strIngredient").append(n).append("\":\"Ingredient ").append(n).append("\",")
+                            .append("\"strMeasure").append(n).append("\":\"").append(n).append(" tbsp\",");
+                }
+                json.append("\"strSource\":\"https://example.org\",\"dateModified\":null,");
+            }
+            json.append("\"strMealThumb\":\"https://www.themealdb.com/images/media/meals/")
+                    .append(Integer.toHexString(i * 7919)).append(".jpg\"}");
+        }
+        body = json.append("]}").toString();
+    }
+
+    @Benchmark
+    public List<MealDBSummary> streaming() throws Exception {
+        return parser.parseSummaries(body);
+    }
+
+    /**
+     * The previous implementation: a new ObjectMapper per call, the whole body
+     * read into maps, then three fields copied into {@link Meal}.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Meal> treeBased() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Object> responseMap = objectMapper.readValue(body, Map.class);
+        List<Map<String, String>> mealData = (List<Map<String, String>>) responseMap.get("meals");
+
+        List<Meal> mealList = new ArrayList<>();
+        for (Map<String, String> data : mealData) {
+            Meal meal = new Meal();
+            meal.setId(Long.parseLong(data.get("idMeal")));
+            meal.setName(data.get("strMeal"));
+            meal.setThumbnail(data.get("strMealThumb"));
+            mealList.add(meal);
+        }
+        return mealList;
+    }
+}
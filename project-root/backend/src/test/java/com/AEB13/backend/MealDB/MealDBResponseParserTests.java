@@ -0,0 +1,48 @@
+package com.AEB13.backend.MealDB;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MealDBResponseParserTests {
+
+	private final MealDBResponseParser parser = new MealDBResponseParser();
+
+	@Test
+	void parsesSummariesAndSkipsOtherFields() throws Exception {
+		String body = "{\"meals\":[{\"strMeal\":\"Fish pie\",\"strTags\":[\"a\",{\"b\":1}],"
+				+ "\"strMealThumb\":\"https://example.org/1.jpg\",\"idMeal\":\"52802\"},"
+				+ "{\"idMeal\":\"52803\",\"strMeal\":\"Kedgeree\",\"strMealThumb\":null}]}";
+
+		assertEquals(List.of(new MealDBSummary(52802L, "Fish pie", "https://example.org/1.jpg"),
+				new MealDBSummary(52803L, "Kedgeree", null)), parser.parseSummaries(body));
+	}
+
+	@Test
+	void returnsEmptyListWhenNoMealsMatch() throws Exception {
+		assertTrue(parser.parseSummaries("{\"meals\":null}").isEmpty());
+	}
+
+	@Test
+	void parsesListNames() throws Exception {
+		String body = "{\"meals\":[{\"strCategory\":\"Beef\"},{\"strCategory\":\"\"},{\"strCategory\":\"Vegan\"}]}";
+
+		assertEquals(List.of("Beef", "Vegan"), parser.parseNames(body, "strCategory"));
+	}
+
+	@Test
+	void joinsNumberedIngredientsOfDetails() throws Exception {
+		String body = "{\"meals\":[{\"idMeal\":\"1\",\"strMeal\":\"Pie\",\"strIngredient2\":\"Milk\","
+				+ "\"strMeasure2\":\" 200ml \",\"strIngredient1\":\"Flour\",\"strMeasure1\":\"\","
+				+ "\"strIngredient3\":\" \",\"strMeasure3\":\"1\",\"strYoutube\":\"https://youtu.be/x\"}]}";
+
+		MealDBDetails details = parser.parseDetails(body).get(0);
+
+		assertEquals("Flour - as needed, Milk - 200ml", details.ingredients());
+		assertEquals("https://youtu.be/x", details.youTubeVid());
+	}
+
+}
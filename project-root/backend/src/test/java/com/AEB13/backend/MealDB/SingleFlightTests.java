@@ -0,0 +1,132 @@
+package com.AEB13.backend.MealDB;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+	@Test
+	void concurrentCallersShareOneExecution() throws Exception {
+		SingleFlight<String, String> singleFlight = new SingleFlight<>();
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		int callers = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < callers; i++) {
+				results.add(executor.submit(() -> singleFlight.execute("/filter.php?c=Seafood", () -> {
+					loads.incrementAndGet();
+					await(release);
+					return "body";
+				})));
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (singleFlight.getCoalesced() < callers - 1 && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertEquals("body", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, loads.get());
+		assertEquals(1, singleFlight.getExecutions());
+		assertEquals(callers - 1, singleFlight.getCoalesced());
+	}
+
+	@Test
+	void releasesKeyAfterFailure() {
+		SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+		assertThrows(IllegalStateException.class, () -> singleFlight.execute("a", () -> {
+			throw new IllegalStateException("upstream down");
+		}));
+		assertEquals("body", singleFlight.execute("a", () -> "body"));
+		assertEquals(2, singleFlight.getExecutions());
+	}
+
+	@Test
+	void releasesWaitingCallersWhenLoaderThrowsError() throws Exception {
+		SingleFlight<String, String> singleFlight = new SingleFlight<>();
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> first = executor.submit(() -> singleFlight.execute("a", () -> {
+				await(release);
+				throw new StackOverflowError();
+			}));
+			while (singleFlight.getExecutions() == 0) {
+				Thread.sleep(1);
+			}
+			Future<String> second = executor.submit(() -> singleFlight.execute("a", () -> "body"));
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (singleFlight.getCoalesced() == 0 && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			ExecutionException firstError = assertThrows(ExecutionException.class,
+					() -> first.get(5, TimeUnit.SECONDS));
+			assertInstanceOf(StackOverflowError.class, firstError.getCause());
+			ExecutionException secondError = assertThrows(ExecutionException.class,
+					() -> second.get(5, TimeUnit.SECONDS));
+			assertInstanceOf(StackOverflowError.class, secondError.getCause());
+			assertEquals(1, singleFlight.getCoalesced());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals("body", singleFlight.execute("a", () -> "body"));
+	}
+
+	@Test
+	void cancellingOneAsyncCallerLeavesTheOthersWaiting() throws Exception {
+		SingleFlight<String, String> singleFlight = new SingleFlight<>();
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+
+		CompletableFuture<String> first = singleFlight.executeAsync("a", () -> upstream);
+		CompletableFuture<String> second = singleFlight.executeAsync("a", () -> upstream);
+		CompletableFuture<String> third = singleFlight.executeAsync("a", () -> upstream);
+		first.cancel(true);
+		second.cancel(true);
+		upstream.complete("body");
+
+		assertTrue(first.isCancelled());
+		assertFalse(upstream.isCancelled());
+		assertEquals("body", third.get(5, TimeUnit.SECONDS));
+		assertEquals(1, singleFlight.getExecutions());
+		assertEquals(2, singleFlight.getCoalesced());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.AEB13.backend.Meal.IngredientParser;
+import com.AEB13.backend.Meal.ParsedIngredient;
+
+class PlanShoppingListTests {
+
+	private static final List<String> NAMES = List.of("Flour", "flour", "FLOUR", "Milk", "milk", "Salt", "Garlic");
+
+	private static final List<String> MEASURES = List.of("200 g", "1.5 kg", "3 oz", "0.25 lb", "150 ml", "1 l",
+			"2 tsp", "1 tbsp", "0.5 cup", "2", "3 cloves", "1/3 cup (sifted)", "pinch", "to taste", "100 g (diced)");
+
+	@Test
+	void singleDayEditsMatchFullRecompute() {
+		Random random = new Random(7);
+		for (int round = 0; round < 50; round++) {
+			Map<Long, List<ParsedIngredient>> ingredientsByMeal = randomMeals(random);
+			WeeklyPlan plan = new WeeklyPlan();
+			PlanShoppingList incremental = PlanShoppingList.of(plan, ingredientsByMeal);
+
+			for (int edit = 0; edit < 100; edit++) {
+				DayOfWeek day = DayOfWeek.of(1 + random.nextInt(7));
+				if (random.nextInt(4) == 0) {
+					plan.getDays().remove(day);
+					incremental.clearDay(day);
+				} else {
+					// Meal 0 does not exist and meal 1 has no ingredients
+					PlannedMeal meal = new PlannedMeal((long) random.nextInt(ingredientsByMeal.size() + 1),
+							1 + random.nextInt(4));
+					plan.getDays().put(day, meal);
+					incremental.setDay(day, meal, ingredientsByMeal.get(meal.getMealId()));
+				}
+
+				assertEquals(PlanShoppingList.of(plan, ingredientsByMeal).toShoppingList(),
+						incremental.toShoppingList());
+				assertEquals(plan.getDays().entrySet().stream()
+						.filter(entry -> !hasIngredients(entry.getValue(), ingredientsByMeal))
+						.map(entry -> WeeklyPlan.dayName(entry.getKey()))
+						.toList(),
+						incremental.skippedDays());
+			}
+		}
+	}
+
+	@Test
+	void planUpdatesMatchFullRecompute() {
+		Random random = new Random(11);
+		for (int round = 0; round < 200; round++) {
+			Map<Long, List<ParsedIngredient>> ingredientsByMeal = randomMeals(random);
+			WeeklyPlan current = randomPlan(random, ingredientsByMeal.size());
+			PlanShoppingList incremental = PlanShoppingList.of(current, ingredientsByMeal);
+			WeeklyPlan updated = randomPlan(random, ingredientsByMeal.size());
+
+			Map<Long, List<ParsedIngredient>> changed = new HashMap<>();
+			Set<Long> changedMealIds = PlanShoppingList.changedMealIds(current, updated);
+			changedMealIds.forEach(mealId -> changed.put(mealId, ingredientsByMeal.getOrDefault(mealId, List.of())));
+
+			assertTrue(incremental.update(updated, changed));
+			assertEquals(PlanShoppingList.of(updated, ingredientsByMeal).toShoppingList(),
+					incremental.toShoppingList());
+		}
+	}
+
+	@Test
+	void refusesUpdateWithoutIngredientsOfChangedDays() {
+		Map<Long, List<ParsedIngredient>> ingredientsByMeal = Map.of(2L, IngredientParser.parse("Rice - 100 g"),
+				3L, IngredientParser.parse("Rice - 50 g"));
+		WeeklyPlan plan = new WeeklyPlan();
+		plan.getDays().put(DayOfWeek.MONDAY, new PlannedMeal(2L, 1));
+		PlanShoppingList list = PlanShoppingList.of(plan, ingredientsByMeal);
+		Map<String, Object> before = list.toShoppingList();
+
+		plan.getDays().put(DayOfWeek.TUESDAY, new PlannedMeal(3L, 1));
+		assertFalse(list.update(plan, Map.of()));
+		assertEquals(before, list.toShoppingList());
+	}
+
+	private static boolean hasIngredients(PlannedMeal meal, Map<Long, List<ParsedIngredient>> ingredientsByMeal) {
+		List<ParsedIngredient> ingredients = ingredientsByMeal.get(meal.getMealId());
+		return ingredients != null && !ingredients.isEmpty();
+	}
+
+	private static Map<Long, List<ParsedIngredient>> randomMeals(Random random) {
+		Map<Long, List<ParsedIngredient>> ingredientsByMeal = new HashMap<>();
+		ingredientsByMeal.put(1L, List.of());
+		int meals = 2 + random.nextInt(6);
+		for (long mealId = 2; mealId <= meals; mealId++) {
+			StringBuilder ingredients = new StringBuilder();
+			int count = 1 + random.nextInt(6);
+			for (int i = 0; i < count; i++) {
+				if (i > 0) {
+					ingredients.append(", ");
+				}
+				ingredients.append(NAMES.get(random.nextInt(NAMES.size()))).append(" - ")
+						.append(MEASURES.get(random.nextInt(MEASURES.size())));
+			}
+			ingredientsByMeal.put(mealId, IngredientParser.parse(ingredients.toString()));
+		}
+		return ingredientsByMeal;
+	}
+
+	private static WeeklyPlan randomPlan(Random random, int meals) {
+		WeeklyPlan plan = new WeeklyPlan();
+		for (DayOfWeek day : DayOfWeek.values()) {
+			if (random.nextInt(3) > 0) {
+				plan.getDays().put(day, new PlannedMeal((long) random.nextInt(meals + 1),
+						random.nextBoolean() ? 1 : 1 + random.nextInt(4)));
+			}
+		}
+		return plan;
+	}
+}
@@ -0,0 +1,67 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.AEB13.backend.Meal.IngredientParser;
+
+class ShoppingListAggregateTests {
+
+	@Test
+	void convertsCompatibleUnitsBeforeSumming() {
+		ShoppingListAggregate aggregate = new ShoppingListAggregate();
+		aggregate.add(IngredientParser.parse("Flour - 500 g, Sugar - 2 tbsp, Milk - 300 ml, Eggs - 2"), 1);
+		aggregate.add(IngredientParser.parse("flour - 1 kg, Sugar - 1 tsp, Milk - 1 l, Eggs - 1"), 2);
+
+		assertEquals(Map.of("Flour (kg)", "2.50", "Sugar (tbsp)", "2.67", "Milk (l)", "2.30", "Eggs", "4.00"),
+				aggregate.toShoppingList(List.of()).get("ingredients"));
+	}
+
+	@Test
+	void keepsIncompatibleUnitsAndNotesApart() {
+		ShoppingListAggregate aggregate = new ShoppingListAggregate();
+		aggregate.add(IngredientParser.parse("Butter - 100 g, Butter - 1 cup, Butter - 2 g (softened), "
+				+ "Garlic - 2 cloves, Garlic - 1 cloves, Salt - pinch, Salt - pinch"), 1);
+
+		assertEquals(Map.of("Butter (g)", "100.00", "Butter (cup)", "1.00", "Butter (g (softened))", "2.00",
+				"Garlic (cloves)", "3.00", "Salt (pinch)", "2x pinch"),
+				aggregate.toShoppingList(List.of()).get("ingredients"));
+	}
+
+	@Test
+	void mergeEqualsAddingSequentially() {
+		List<String> meals = List.of("Oil - 1 tbsp, Rice - 250 g", "Oil - 2 tsp, Rice - 0.3 kg",
+				"Oil - 0.1 cup, Rice - 1 lb", "Oil - 5 ml, Salt - to taste");
+
+		ShoppingListAggregate sequential = new ShoppingListAggregate();
+		meals.forEach(meal -> sequential.add(IngredientParser.parse(meal), 1));
+
+		ShoppingListAggregate left = new ShoppingListAggregate();
+		left.add(IngredientParser.parse(meals.get(0)), 1);
+		ShoppingListAggregate middle = new ShoppingListAggregate();
+		middle.add(IngredientParser.parse(meals.get(1)), 1);
+		middle.add(IngredientParser.parse(meals.get(2)), 1);
+		ShoppingListAggregate right = new ShoppingListAggregate();
+		right.add(IngredientParser.parse(meals.get(3)), 1);
+
+		assertEquals(sequential.toShoppingList(List.of()), left.merge(middle.merge(right)).toShoppingList(List.of()));
+	}
+
+	@Test
+	void formatsQuantitiesWithTwoDecimalsRoundingHalfUp() {
+		Map<String, Double> quantities = new HashMap<>();
+		quantities.put("Flour (g)", 200.0);
+		quantities.put("Sugar (tbsp)", 1.005);
+		quantities.put("Milk (cup)", 2.0 / 3);
+		quantities.put("Salt (to taste)", -1.0);
+
+		assertEquals(Map.of("Flour (g)", "200.00", "Sugar (tbsp)", "1.01", "Milk (cup)", "0.67",
+				"Salt (to taste)", "3x to taste"),
+				ShoppingListAggregate.formatShoppingList(quantities, Map.of("Salt (to taste)", 3)));
+	}
+}
@@ -0,0 +1,129 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.AEB13.backend.Meal.IngredientParser;
+import com.AEB13.backend.Meal.MealChangedEvent;
+import com.AEB13.backend.Meal.ParsedIngredient;
+
+class ShoppingListCacheTests {
+
+	private static final List<ParsedIngredient> WATER = IngredientParser.parse("Water - 1 l");
+
+	private static final Map<String, Object> LIST = Map.of("ingredients", Map.of("Water (l)", "1.00"),
+			"skippedMeals", List.of());
+
+	@Test
+	void countsHitsAndMisses() {
+		ShoppingListCache cache = new ShoppingListCache(10);
+		assertNull(cache.get(1L));
+		cache.put(1L, list(10L), cache.epoch());
+		assertEquals(LIST, cache.get(1L));
+		assertEquals(LIST, cache.get(1L));
+
+		Map<String, Object> statistics = cache.getStatistics();
+		assertEquals(2L, statistics.get("hits"));
+		assertEquals(1L, statistics.get("misses"));
+		assertEquals(2.0 / 3, statistics.get("hitRatio"));
+	}
+
+	@Test
+	void mealChangeDropsOnlyPlansUsingIt() {
+		ShoppingListCache cache = new ShoppingListCache(10);
+		cache.put(1L, list(10L, 11L), cache.epoch());
+		cache.put(2L, list(11L), cache.epoch());
+		cache.put(3L, list(12L), cache.epoch());
+
+		cache.onMealChanged(new MealChangedEvent(11L));
+
+		assertNull(cache.get(1L));
+		assertNull(cache.get(2L));
+		assertNotNull(cache.get(3L));
+		assertEquals(2L, cache.getStatistics().get("invalidations"));
+	}
+
+	@Test
+	void ignoresListsComputedBeforeAnInvalidation() {
+		ShoppingListCache cache = new ShoppingListCache(10);
+		long epoch = cache.epoch();
+		cache.invalidatePlan(1L);
+		cache.put(1L, list(10L), epoch);
+
+		assertNull(cache.get(1L));
+		assertEquals(1L, cache.getStatistics().get("stalePuts"));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedPlanAndItsIndex() {
+		ShoppingListCache cache = new ShoppingListCache(2);
+		cache.put(1L, list(10L), cache.epoch());
+		cache.put(2L, list(10L), cache.epoch());
+		cache.get(1L);
+		cache.put(3L, list(11L), cache.epoch());
+
+		assertNull(cache.get(2L));
+		assertNotNull(cache.get(1L));
+		cache.invalidateMeal(10L);
+		assertNull(cache.get(1L));
+		assertNotNull(cache.get(3L));
+		assertEquals(1L, cache.getStatistics().get("evictions"));
+		assertEquals(1L, cache.getStatistics().get("invalidations"));
+	}
+
+	@Test
+	void appliesPlanUpdatesToCachedEntry() {
+		ShoppingListCache cache = new ShoppingListCache(10);
+		WeeklyPlan plan = plan(1L, Map.of("Monday", 10L, "Tuesday", 10L));
+		cache.put(1L, PlanShoppingList.of(plan, Map.of(10L, WATER)), cache.epoch());
+
+		cache.update(plan(1L, Map.of("Monday", 11L, "Tuesday", 10L)),
+				Map.of(11L, IngredientParser.parse("Rice - 200 g")), cache.epoch());
+
+		assertEquals(Map.of("Water (l)", "1.00", "Rice (g)", "200.00"), cache.get(1L).get("ingredients"));
+		assertEquals(1L, cache.getStatistics().get("incrementalUpdates"));
+		cache.invalidateMeal(11L);
+		assertNull(cache.get(1L));
+	}
+
+	@Test
+	void dropsEntryOnStaleOrIncompleteUpdate() {
+		ShoppingListCache cache = new ShoppingListCache(10);
+		cache.put(1L, list(10L), cache.epoch());
+		cache.put(2L, list(10L), cache.epoch());
+
+		long epoch = cache.epoch();
+		cache.invalidateMeal(12L);
+		cache.update(plan(1L, Map.of("Monday", 10L, "Friday", 10L)), Map.of(10L, WATER), epoch);
+		cache.update(plan(2L, Map.of("Monday", 11L)), Map.of(), cache.epoch());
+
+		assertNull(cache.get(1L));
+		assertNull(cache.get(2L));
+		assertEquals(0L, cache.getStatistics().get("incrementalUpdates"));
+	}
+
+	private static PlanShoppingList list(Long... mealIds) {
+		Map<String, Long> meals = new HashMap<>();
+		Map<Long, List<ParsedIngredient>> ingredients = new HashMap<>();
+		for (int i = 0; i < mealIds.length; i++) {
+			meals.put(WeeklyPlan.dayName(DayOfWeek.of(i + 1)), mealIds[i]);
+			ingredients.put(mealIds[i], i == 0 ? WATER : List.of());
+		}
+		return PlanShoppingList.of(plan(null, meals), ingredients);
+	}
+
+	private static WeeklyPlan plan(Long id, Map<String, Long> meals) {
+		WeeklyPlan plan = new WeeklyPlan();
+		plan.setId(id);
+		meals.forEach((day, mealId) -> plan.getDays().put(WeeklyPlan.parseDay(day), new PlannedMeal(mealId, 1)));
+		return plan;
+	}
+}
@@ -0,0 +1,84 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ShoppingListAggregate#formatShoppingList} with the previous
+ * formatting through {@link String#format} and a regex split.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation rates:
+ * {@code mvn -P jmh -DskipTests test-compile exec:exec -Djmh.args="ShoppingListFormatBenchmark -prof gc"}
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShoppingListFormatBenchmark {
+
+    /**
+     * Number of distinct ingredients on the shopping list, a fifth of them
+     * without a numeric quantity.
+     */
+    @Param({ "50", "200" })
+    private int ingredients;
+
+    private Map<String, Double> quantities;
+
+    private Map<String, Integer> nonNumericCounts;
+
+    @Setup
+    public void createShoppingList() {
+        quantities = new HashMap<>();
+        nonNumericCounts = new HashMap<>();
+        for (int i = 0; i < ingredients; i++) {
+            if (i % 5 == 4) {
+                String key = "Ingredient " + i + " (to taste)";
+                quantities.put(key, -1.0);
+                nonNumericCounts.put(key, 1 + i % 3);
+            } else {
+                quantities.put("Ingredient " + i + " (g)", i * 12.5 + 1.0 / 3);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> current() {
+        return ShoppingListAggregate.formatShoppingList(quantities, nonNumericCounts);
+    }
+
+    /**
+     * The previous implementation: {@code String.format("%.2f")} per quantity
+     * and a regex split per non-numeric ingredient.
+     */
+    @Benchmark
+    public Map<String, String> formatAndSplit() {
+        Map<String, String> shoppingList = new HashMap<>();
+        for (Map.Entry<String, Double> entry : quantities.entrySet()) {
+            if (entry.getValue() != -1.0) {
+                shoppingList.put(entry.getKey(), String.format("%.2f", entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, Integer> entry : nonNumericCounts.entrySet()) {
+            String ingredient = entry.getKey();
+            shoppingList.put(ingredient, entry.getValue() + "x " + ingredient.split("\\(")[1].replace(")", ""));
+        }
+        return shoppingList;
+    }
+}
@@ -0,0 +1,90 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.DayOfWeek;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(WeeklyPlanDayMigration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WeeklyPlanDayMigrationTests {
+
+	@Autowired
+	private WeeklyPlanDayMigration migration;
+
+	@Autowired
+	private WeeklyPlanRepository weeklyPlanRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void clearPlans() {
+		weeklyPlanRepository.deleteAll();
+	}
+
+	@Test
+	void movesLegacyDaysIntoDayTable() {
+		Long first = savePlan(40);
+		Long second = savePlan(41);
+		WeeklyPlan plan = new WeeklyPlan();
+		plan.setWeek(42);
+		plan.getDays().put(DayOfWeek.SUNDAY, new PlannedMeal(9L, 1));
+		Long migrated = weeklyPlanRepository.save(plan).getId();
+
+		jdbcTemplate.execute("CREATE TABLE " + WeeklyPlanDayMigration.LEGACY_MEALS_TABLE
+				+ " (weekly_plan_id BIGINT NOT NULL, day VARCHAR(255) NOT NULL, meal_id BIGINT)");
+		jdbcTemplate.execute("CREATE TABLE " + WeeklyPlanDayMigration.LEGACY_PORTION_SIZES_TABLE
+				+ " (weekly_plan_id BIGINT NOT NULL, day VARCHAR(255) NOT NULL, portion_size INT)");
+		legacyDay(first, "Monday", 1L, 2);
+		legacyDay(first, " friday", 2L, null);
+		legacyDay(first, "Someday", 3L, 2);
+		legacyDay(first, "Sunday", null, 3);
+		legacyDay(second, "TUESDAY", 4L, 0);
+		legacyDay(migrated, "Monday", 5L, 1);
+
+		assertEquals(3, migration.migrate());
+		assertEquals(Map.of(DayOfWeek.MONDAY, new PlannedMeal(1L, 2), DayOfWeek.FRIDAY, new PlannedMeal(2L, 1)),
+				days(first));
+		assertEquals(Map.of(DayOfWeek.TUESDAY, new PlannedMeal(4L, 1)), days(second));
+		assertEquals(Map.of(DayOfWeek.SUNDAY, new PlannedMeal(9L, 1)), days(migrated));
+
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+				+ "WHERE table_name IN (?, ?)", Integer.class, WeeklyPlanDayMigration.LEGACY_MEALS_TABLE,
+				WeeklyPlanDayMigration.LEGACY_PORTION_SIZES_TABLE));
+		assertEquals(0, migration.migrate());
+	}
+
+	private Map<DayOfWeek, PlannedMeal> days(Long planId) {
+		return weeklyPlanRepository.findWithDaysById(planId).orElseThrow().getDays();
+	}
+
+	private Long savePlan(int week) {
+		WeeklyPlan plan = new WeeklyPlan();
+		plan.setWeek(week);
+		return weeklyPlanRepository.save(plan).getId();
+	}
+
+	private void legacyDay(Long planId, String day, Long mealId, Integer portionSize) {
+		jdbcTemplate.update("INSERT INTO " + WeeklyPlanDayMigration.LEGACY_MEALS_TABLE
+				+ " (weekly_plan_id, day, meal_id) VALUES (?, ?, ?)", planId, day, mealId);
+		if (portionSize != null) {
+			jdbcTemplate.update("INSERT INTO " + WeeklyPlanDayMigration.LEGACY_PORTION_SIZES_TABLE
+					+ " (weekly_plan_id, day, portion_size) VALUES (?, ?, ?)", planId, day, portionSize);
+		}
+	}
+}
@@ -0,0 +1,294 @@
+package com.AEB13.backend.WeeklyPlan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.AEB13.backend.Meal.Meal;
+import com.AEB13.backend.Meal.MealIngredientRepository;
+import com.AEB13.backend.Meal.MealIngredientService;
+import com.AEB13.backend.Meal.MealRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.AEB13.backend.WeeklyPlan.WeeklyPlanServiceTests$RecordingStatementInspector")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ WeeklyPlanService.class, ShoppingListCache.class, MealIngredientService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WeeklyPlanServiceTests {
+
+	@Autowired
+	private WeeklyPlanService weeklyPlanService;
+
+	@Autowired
+	private WeeklyPlanRepository weeklyPlanRepository;
+
+	@Autowired
+	private MealRepository mealRepository;
+
+	@Autowired
+	private MealIngredientRepository mealIngredientRepository;
+
+	@Autowired
+	private MealIngredientService mealIngredientService;
+
+	/**
+	 * Records the SQL statements Hibernate prepares.
+	 */
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		static final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+
+	@BeforeEach
+	void clearPlans() {
+		weeklyPlanRepository.deleteAll();
+		mealIngredientRepository.deleteAll();
+		mealRepository.deleteAll();
+	}
+
+	@Test
+	void generatesShoppingListWithFixedNumberOfQueries() {
+		Meal pancakes = save("Pancakes", "Flour - 200g, Salt - pinch");
+		mealIngredientService.storeIngredients(pancakes);
+		Meal soup = save("Soup", "Water - 1 l, Salt - pinch");
+		Meal empty = save("Toast", null);
+
+		Long planId = savePlan(12, Map.of("Monday", pancakes.getId(), "Tuesday", soup.getId(),
+				"Wednesday", pancakes.getId(), "Thursday", empty.getId(), "Friday", -1L), Map.of("Wednesday", 2));
+
+		RecordingStatementInspector.statements.clear();
+		Map<String, Object> shoppingList = weeklyPlanService.generateShoppingList(planId);
+
+		assertEquals(3, RecordingStatementInspector.statements.size(),
+				String.join("\n", RecordingStatementInspector.statements));
+		assertEquals(Map.of("Flour (g)", "600.00", "Salt (pinch)", "4x pinch", "Water (l)", "1.00"),
+				shoppingList.get("ingredients"));
+		assertEquals(List.of("Thursday", "Friday"), shoppingList.get("skippedMeals"));
+	}
+
+	@Test
+	void servesShoppingListsFromCacheAcrossPlanUpdates() {
+		Meal soup = save("Soup", "Water - 1 l");
+		Long planId = savePlan(13, Map.of("Monday", soup.getId()), Map.of());
+		weeklyPlanService.generateShoppingList(planId);
+
+		RecordingStatementInspector.statements.clear();
+		Map<String, Object> cached = weeklyPlanService.generateShoppingList(planId);
+		assertEquals(0, RecordingStatementInspector.statements.size());
+		assertEquals(Map.of("Water (l)", "1.00"), cached.get("ingredients"));
+
+		weeklyPlanService.updateWeeklyPlan(planId, new WeeklyPlanRequest(13,
+				Map.of("Monday", soup.getId(), "Tuesday", soup.getId()), null));
+		RecordingStatementInspector.statements.clear();
+		assertEquals(Map.of("Water (l)", "2.00"), weeklyPlanService.generateShoppingList(planId).get("ingredients"));
+		assertEquals(0, RecordingStatementInspector.statements.size());
+	}
+
+	@Test
+	void mergesShoppingListsOfSeveralPlans() {
+		Meal pancakes = save("Pancakes", "Flour - 200g, Salt - pinch");
+		mealIngredientService.storeIngredients(pancakes);
+		Meal soup = save("Soup", "Water - 1 l, Salt - pinch");
+		Long first = savePlan(20, Map.of("Monday", pancakes.getId(), "Sunday", -1L), Map.of("Monday", 2));
+		Long second = savePlan(21, Map.of("Tuesday", soup.getId(), "Friday", pancakes.getId()), Map.of());
+		savePlan(23, Map.of("Monday", soup.getId()), Map.of());
+
+		RecordingStatementInspector.statements.clear();
+		Map<String, Object> byIds = weeklyPlanService.generateShoppingList(List.of(second, first));
+
+		assertEquals(3, RecordingStatementInspector.statements.size(),
+				String.join("\n", RecordingStatementInspector.statements));
+		assertEquals(Map.of("Flour (g)", "600.00", "Salt (pinch)", "4x pinch", "Water (l)", "1.00"),
+				byIds.get("ingredients"));
+		assertEquals(List.of("Sunday (week 20)"), byIds.get("skippedMeals"));
+		assertEquals(List.of(20, 21), byIds.get("weeks"));
+		assertEquals(byIds, weeklyPlanService.generateShoppingListForWeeks(20, 22));
+	}
+
+	@Test
+	void writesOnlyTheRowsOfChangedDays() {
+		Long planId = savePlan(30, Map.of("Monday", 1L, "Tuesday", 2L, "Wednesday", 3L), Map.of("Monday", 2));
+
+		RecordingStatementInspector.statements.clear();
+		weeklyPlanService.setDay(planId, DayOfWeek.THURSDAY, 4L, null);
+		assertEquals(List.of("insert"), writes());
+
+		weeklyPlanService.setDay(planId, DayOfWeek.MONDAY, 1L, 3);
+		assertEquals(List.of("update"), writes());
+
+		weeklyPlanService.clearDay(planId, DayOfWeek.TUESDAY);
+		assertEquals(List.of("delete"), writes());
+
+		weeklyPlanService.updateWeeklyPlan(planId, new WeeklyPlanRequest(30,
+				Map.of("Monday", 1L, "Wednesday", 5L, "Thursday", 4L), Map.of("Monday", 3)));
+		assertEquals(List.of("update"), writes());
+
+		WeeklyPlan stored = weeklyPlanService.getWeeklyPlan(planId);
+		assertEquals(1, RecordingStatementInspector.statements.size(),
+				String.join("\n", RecordingStatementInspector.statements));
+		assertEquals(Map.of("Monday", 1L, "Wednesday", 5L, "Thursday", 4L), stored.getMeals());
+		assertEquals(Map.of("Monday", 3, "Wednesday", 1, "Thursday", 1), stored.getPortionSizes());
+	}
+
+	@Test
+	void dayEditsKeepCachedShoppingListCurrent() {
+		Meal soup = save("Soup", "Water - 1 l");
+		Meal rice = save("Rice", "Rice - 200 g");
+		Long planId = savePlan(31, Map.of("Monday", soup.getId()), Map.of());
+		weeklyPlanService.generateShoppingList(planId);
+
+		weeklyPlanService.setDay(planId, DayOfWeek.TUESDAY, rice.getId(), 2);
+		weeklyPlanService.setDay(planId, DayOfWeek.MONDAY, soup.getId(), 3);
+		weeklyPlanService.clearDay(planId, DayOfWeek.SUNDAY);
+		RecordingStatementInspector.statements.clear();
+		assertEquals(Map.of("Water (l)", "3.00", "Rice (g)", "400.00"),
+				weeklyPlanService.generateShoppingList(planId).get("ingredients"));
+		assertEquals(0, RecordingStatementInspector.statements.size());
+
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.setDay(planId, DayOfWeek.MONDAY, soup.getId(),
+				0));
+		assertEquals(Map.of("Monday", 3, "Tuesday", 2), weeklyPlanService.getWeeklyPlan(planId).getPortionSizes());
+	}
+
+	@Test
+	void listsPlansWithOneQuery() {
+		for (int week = 52; week > 0; week--) {
+			savePlan(week, Map.of("Monday", 1L, "Sunday", (long) week), Map.of("Sunday", 2));
+		}
+
+		RecordingStatementInspector.statements.clear();
+		List<WeeklyPlan> plans = weeklyPlanService.getAllWeeklyPlans();
+		List<WeeklyPlan> page = weeklyPlanService.getWeeklyPlans(10, 19);
+
+		assertEquals(2, RecordingStatementInspector.statements.size(),
+				String.join("\n", RecordingStatementInspector.statements));
+		assertEquals(52, plans.size());
+		assertEquals(List.of(10, 11, 12, 13, 14, 15, 16, 17, 18, 19), page.stream().map(WeeklyPlan::getWeek).toList());
+		for (int i = 0; i < plans.size(); i++) {
+			assertEquals(i + 1, plans.get(i).getWeek());
+			assertEquals(Map.of("Monday", 1L, "Sunday", i + 1L), plans.get(i).getMeals());
+			assertEquals(List.of("Monday", "Sunday"), List.copyOf(plans.get(i).getPortionSizes().keySet()));
+		}
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.getWeeklyPlans(1, 61));
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.getWeeklyPlans(5, 4));
+	}
+
+	@Test
+	void embedsMealSummariesWithOneQueryForAllPlans() {
+		Meal soup = save("Soup", "Water - 1 l");
+		Meal rice = save("Rice", "Rice - 200 g");
+		Long first = savePlan(40, Map.of("Monday", soup.getId(), "Tuesday", -1L, "Friday", rice.getId()),
+				Map.of("Monday", 2));
+		savePlan(41, Map.of("Sunday", soup.getId()), Map.of());
+		savePlan(43, Map.of(), Map.of());
+
+		RecordingStatementInspector.statements.clear();
+		WeeklyPlanView view = weeklyPlanService.getWeeklyPlanView(first);
+		assertEquals(2, RecordingStatementInspector.statements.size(),
+				String.join("\n", RecordingStatementInspector.statements));
+		assertEquals(40, view.week());
+		assertEquals(List.of("Monday", "Tuesday", "Friday"), List.copyOf(view.meals().keySet()));
+		assertEquals(Map.of("Monday", 2, "Tuesday", 1, "Friday", 1), view.portionSizes());
+		assertEquals(List.of("Monday", "Friday"), List.copyOf(view.mealSummaries().keySet()));
+		assertEquals("Soup", view.mealSummaries().get("Monday").name());
+		assertEquals("Rice", view.mealSummaries().get("Friday").name());
+
+		RecordingStatementInspector.statements.clear();
+		List<WeeklyPlanView> views = weeklyPlanService.getWeeklyPlanViews(40, 45);
+		assertEquals(2, RecordingStatementInspector.statements.size(),
+				String.join("\n", RecordingStatementInspector.statements));
+		assertEquals(List.of(40, 41, 43), views.stream().map(WeeklyPlanView::week).toList());
+		assertEquals(Map.of("Sunday", soup.getId()), views.get(1).meals());
+		assertEquals("Soup", views.get(1).mealSummaries().get("Sunday").name());
+		assertEquals(Map.of(), views.get(2).mealSummaries());
+
+		RecordingStatementInspector.statements.clear();
+		assertEquals(List.of(), weeklyPlanService.getWeeklyPlanViews(50, 52));
+		assertEquals(1, RecordingStatementInspector.statements.size());
+	}
+
+	@Test
+	void validatesPlanRequests() {
+		Long planId = weeklyPlanService.createWeeklyPlan(new WeeklyPlanRequest(32,
+				Map.of("monday", 1L, "Friday", 2L), null)).getId();
+		assertEquals(Map.of(DayOfWeek.MONDAY, new PlannedMeal(1L, 1), DayOfWeek.FRIDAY, new PlannedMeal(2L, 1)),
+				weeklyPlanService.getWeeklyPlan(planId).getDays());
+
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.createWeeklyPlan(
+				new WeeklyPlanRequest(33, Map.of("Day 1", 1L), null)));
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.createWeeklyPlan(
+				new WeeklyPlanRequest(33, Map.of("Monday", 1L), Map.of("Tuesday", 2))));
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.updateWeeklyPlan(planId,
+				new WeeklyPlanRequest(32, Map.of("Monday", 1L), Map.of("Monday", 0))));
+	}
+
+	@Test
+	void clearsDayWithLeftoverPortionSize() {
+		Long planId = savePlan(34, Map.of("Monday", 1L, "Tuesday", 2L), Map.of("Monday", 2));
+
+		// The edit page sends "" for a cleared day and keeps its portion size
+		Map<String, Long> meals = new HashMap<>();
+		meals.put("Monday", null);
+		meals.put("Tuesday", 2L);
+		weeklyPlanService.updateWeeklyPlan(planId, new WeeklyPlanRequest(34, meals,
+				Map.of("Monday", 2, "Tuesday", 1)));
+
+		WeeklyPlan stored = weeklyPlanService.getWeeklyPlan(planId);
+		assertEquals(Map.of("Tuesday", 2L), stored.getMeals());
+		assertEquals(Map.of("Tuesday", 1), stored.getPortionSizes());
+	}
+
+	@Test
+	void rejectsUnknownPlansAndOverlongRanges() {
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.generateShoppingList(List.of(-5L)));
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.generateShoppingListForWeeks(1, 1000));
+		assertThrows(IllegalArgumentException.class, () -> weeklyPlanService.generateShoppingListForWeeks(5, 4));
+	}
+
+	private static List<String> writes() {
+		List<String> writes = RecordingStatementInspector.statements.stream()
+				.map(sql -> sql.substring(0, sql.indexOf(' ')))
+				.filter(verb -> !verb.equals("select"))
+				.toList();
+		RecordingStatementInspector.statements.clear();
+		return writes;
+	}
+
+	private Long savePlan(int week, Map<String, Long> meals, Map<String, Integer> portionSizes) {
+		WeeklyPlan plan = new WeeklyPlan();
+		plan.setWeek(week);
+		plan.setDays(new WeeklyPlanRequest(week, meals, portionSizes).toDays());
+		return weeklyPlanRepository.save(plan).getId();
+	}
+
+	private Meal save(String name, String ingredients) {
+		Meal meal = new Meal();
+		meal.setName(name);
+		meal.setIngredients(ingredients);
+		return mealRepository.save(meal);
+	}
+}